@@ -3,6 +3,7 @@ package com.ensoftcorp.open.pointsto.ui.preferences;
 import org.eclipse.jface.preference.BooleanFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
 import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.jface.preference.RadioGroupFieldEditor;
 import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.ui.IWorkbench;
@@ -28,13 +29,29 @@ public class PointsToPreferencesPage extends FieldEditorPreferencePage implement
 	private static final String POINTS_TO_ANALYSIS_FIFO_FRONTIER_MODE_DESCRIPTION = "Process the frontier using a FIFO (first in, first out) strategy";
 	private static final String POINTS_TO_ANALYSIS_LIFO_FRONTIER_MODE_DESCRIPTION = "Process the frontier using a LIFO (last in, last out) strategy";
 	private static final String POINTS_TO_ANALYSIS_LRU_FRONTIER_MODE_DESCRIPTION = "Process the frontier using a LRU (least recently used) strategy";
+	private static final String POINTS_TO_ANALYSIS_WAVE_FRONTIER_MODE_DESCRIPTION = "Process the frontier in waves, ordered topologically by data flow rank";
+	private static final String POINTS_TO_ANALYSIS_PRIORITY_FRONTIER_MODE_DESCRIPTION = "Process the frontier using a priority strategy (least recently fired first)";
+	private static final String HASH_SET_POINTS_TO_SET_MODE_DESCRIPTION = "Store points-to sets as hash sets of addresses";
+	private static final String BITSET_POINTS_TO_SET_MODE_DESCRIPTION = "Store points-to sets as compressed bitsets of addresses (recommended)";
 	private static final String ARRAY_COMPONENT_TRACKING_DESCRIPTION = "Track Array Component Read/Writes (increases precision / expensive)";
+	private static final String FIELD_SENSITIVITY_DESCRIPTION = "Track Instance Fields per Object (increases precision / expensive)";
+	private static final String HEAP_CLONING_DESCRIPTION = "Clone Objects Returned from Methods per Call Site (increases precision / expensive)";
+	private static final String HEAP_CLONING_DEPTH_DESCRIPTION = "Call sites in the context of a cloned object (k)";
 	private static final String COLLAPSE_SCCS_DESCRIPTION = "Collapse SCCs (optimization / may lose type precision)";
+	private static final String DIFFERENCE_PROPAGATION_DESCRIPTION = "Propagate only newly discovered points-to information (optimization)";
+	private static final String WORKER_THREADS_DESCRIPTION = "Worker threads used to propagate points-to sets (1 propagates serially)";
+	private static final String ONLINE_CYCLE_DETECTION_DESCRIPTION = "Detect and collapse cycles of same typed references during propagation (optimization)";
 	private static final String TAG_ALIASES_DESCRIPTION = "Tag aliases";
+	private static final String DEFERRED_ALIAS_TAGGING_DESCRIPTION = "Defer alias tagging until the points-to sets are solved";
 	private static final String TAG_INFERRED_DATAFLOWS_DESCRIPTION = "Tag inferred dataflows (expensive)";
 	private static final String TAG_RUNTIME_TYPES_DESCRIPTION = "Tag runtime types (expensive)";
 	private static final String REWRITE_ARRAYS_DESCRIPTION = "Rewrite array components (requires array component tracking)";
 	private static final String DISPOSE_RESOURCES_DESCRIPTION = "Dispose backing points-to analysis resources (recommended)";
+	private static final String INCREMENTAL_ANALYSIS_DESCRIPTION = "Incrementally update the points-to analysis after the program graph changes (retains resources)";
+	private static final String SNAPSHOT_RESULTS_DESCRIPTION = "Save a snapshot of the points-to results and reload it while the program graph is unchanged";
+	private static final String ALIAS_ORACLE_DESCRIPTION = "Keep an in-memory alias oracle of the points-to results for fast alias queries";
+	private static final String ADDRESS_INDEX_DESCRIPTION = "Index the references that point to each address while solving";
+	private static final String INDEXED_FRONTIER_DESCRIPTION = "Back the FIFO, LIFO and LRU frontiers with node ids (optimization)";
 	private static final String TRACK_PRIMITIVES_DESCRIPTION = "Track primitives (very expensive)";
 	
 	private static boolean changeListenerAdded = false;
@@ -84,6 +101,11 @@ public class PointsToPreferencesPage extends FieldEditorPreferencePage implement
 		addField(new SpacerFieldEditor(getFieldEditorParent()));
 		addField(new LabelFieldEditor("Advanced Analysis Options", getFieldEditorParent()));
 		addField(new BooleanFieldEditor(PointsToPreferences.COLLAPSE_SCCS, "&" + COLLAPSE_SCCS_DESCRIPTION, getFieldEditorParent()));
+		addField(new BooleanFieldEditor(PointsToPreferences.DIFFERENCE_PROPAGATION, "&" + DIFFERENCE_PROPAGATION_DESCRIPTION, getFieldEditorParent()));
+		addField(new BooleanFieldEditor(PointsToPreferences.ONLINE_CYCLE_DETECTION, "&" + ONLINE_CYCLE_DETECTION_DESCRIPTION, getFieldEditorParent()));
+		IntegerFieldEditor workerThreads = new IntegerFieldEditor(PointsToPreferences.WORKER_THREADS, "&" + WORKER_THREADS_DESCRIPTION, getFieldEditorParent());
+		workerThreads.setValidRange(1, 256);
+		addField(workerThreads);
 		addField(new BooleanFieldEditor(PointsToPreferences.GENERAL_LOGGING, "&" + GENERAL_LOGGING_DESCRIPTION, getFieldEditorParent()));
 		RadioGroupFieldEditor frontierMode = new RadioGroupFieldEditor(
 				PointsToPreferences.POINTS_TO_ANALYSIS_FRONTIER_MODE,
@@ -98,18 +120,50 @@ public class PointsToPreferencesPage extends FieldEditorPreferencePage implement
 					},
 					{ "&" + POINTS_TO_ANALYSIS_LRU_FRONTIER_MODE_DESCRIPTION, 
 						PointsToPreferences.POINTS_TO_ANALYSIS_LRU_FRONTIER_MODE
+					},
+					{ "&" + POINTS_TO_ANALYSIS_WAVE_FRONTIER_MODE_DESCRIPTION, 
+						PointsToPreferences.POINTS_TO_ANALYSIS_WAVE_FRONTIER_MODE
+					},
+					{ "&" + POINTS_TO_ANALYSIS_PRIORITY_FRONTIER_MODE_DESCRIPTION, 
+						PointsToPreferences.POINTS_TO_ANALYSIS_PRIORITY_FRONTIER_MODE
 					}
 				},
 				getFieldEditorParent(),
 				true);
 		addField(frontierMode);
+		RadioGroupFieldEditor pointsToSetMode = new RadioGroupFieldEditor(
+				PointsToPreferences.POINTS_TO_SET_MODE,
+				"Points-to Set Mode",
+				1,
+				new String[][] {
+					{ "&" + BITSET_POINTS_TO_SET_MODE_DESCRIPTION, 
+						PointsToPreferences.BITSET_POINTS_TO_SET_MODE
+					},
+					{ "&" + HASH_SET_POINTS_TO_SET_MODE_DESCRIPTION, 
+						PointsToPreferences.HASH_SET_POINTS_TO_SET_MODE
+					}
+				},
+				getFieldEditorParent(),
+				true);
+		addField(pointsToSetMode);
 		addField(new BooleanFieldEditor(PointsToPreferences.ARRAY_COMPONENT_TRACKING, "&" + ARRAY_COMPONENT_TRACKING_DESCRIPTION, getFieldEditorParent()));
+		addField(new BooleanFieldEditor(PointsToPreferences.FIELD_SENSITIVITY, "&" + FIELD_SENSITIVITY_DESCRIPTION, getFieldEditorParent()));
+		addField(new BooleanFieldEditor(PointsToPreferences.HEAP_CLONING, "&" + HEAP_CLONING_DESCRIPTION, getFieldEditorParent()));
+		IntegerFieldEditor heapCloningDepth = new IntegerFieldEditor(PointsToPreferences.HEAP_CLONING_DEPTH, "&" + HEAP_CLONING_DEPTH_DESCRIPTION, getFieldEditorParent());
+		heapCloningDepth.setValidRange(1, 8);
+		addField(heapCloningDepth);
 		addField(new BooleanFieldEditor(PointsToPreferences.TRACK_PRIMITIVES, "&" + TRACK_PRIMITIVES_DESCRIPTION, getFieldEditorParent()));
 		addField(new BooleanFieldEditor(PointsToPreferences.DISPOSE_RESOURCES, "&" + DISPOSE_RESOURCES_DESCRIPTION, getFieldEditorParent()));
+		addField(new BooleanFieldEditor(PointsToPreferences.INCREMENTAL_ANALYSIS, "&" + INCREMENTAL_ANALYSIS_DESCRIPTION, getFieldEditorParent()));
+		addField(new BooleanFieldEditor(PointsToPreferences.SNAPSHOT_RESULTS, "&" + SNAPSHOT_RESULTS_DESCRIPTION, getFieldEditorParent()));
+		addField(new BooleanFieldEditor(PointsToPreferences.ALIAS_ORACLE, "&" + ALIAS_ORACLE_DESCRIPTION, getFieldEditorParent()));
+		addField(new BooleanFieldEditor(PointsToPreferences.ADDRESS_INDEX, "&" + ADDRESS_INDEX_DESCRIPTION, getFieldEditorParent()));
+		addField(new BooleanFieldEditor(PointsToPreferences.INDEXED_FRONTIER, "&" + INDEXED_FRONTIER_DESCRIPTION, getFieldEditorParent()));
 		
 		addField(new SpacerFieldEditor(getFieldEditorParent()));
 		addField(new LabelFieldEditor("Graph Enhancements", getFieldEditorParent()));
 		addField(new BooleanFieldEditor(PointsToPreferences.TAG_ALIASES, "&" + TAG_ALIASES_DESCRIPTION, getFieldEditorParent()));
+		addField(new BooleanFieldEditor(PointsToPreferences.DEFERRED_ALIAS_TAGGING, "&" + DEFERRED_ALIAS_TAGGING_DESCRIPTION, getFieldEditorParent()));
 		addField(new BooleanFieldEditor(PointsToPreferences.TAG_INFERRED_DATAFLOWS, "&" + TAG_INFERRED_DATAFLOWS_DESCRIPTION, getFieldEditorParent()));
 		addField(new BooleanFieldEditor(PointsToPreferences.TAG_RUNTIME_TYPES, "&" + TAG_RUNTIME_TYPES_DESCRIPTION, getFieldEditorParent()));
 		addField(new BooleanFieldEditor(PointsToPreferences.REWRITE_ARRAY_COMPONENTS, "&" + REWRITE_ARRAYS_DESCRIPTION, getFieldEditorParent()));
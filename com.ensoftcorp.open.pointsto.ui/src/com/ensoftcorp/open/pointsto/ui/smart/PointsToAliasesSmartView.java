@@ -19,12 +19,17 @@ import com.ensoftcorp.atlas.ui.scripts.selections.IResizableScript;
 import com.ensoftcorp.atlas.ui.scripts.util.SimpleScriptUtil;
 import com.ensoftcorp.atlas.ui.selection.event.FrontierEdgeExploreEvent;
 import com.ensoftcorp.atlas.ui.selection.event.IAtlasSelectionEvent;
+import com.ensoftcorp.open.pointsto.analysis.DemandPointsTo;
+import com.ensoftcorp.open.pointsto.common.AliasOracle;
 import com.ensoftcorp.open.pointsto.common.PointsToAnalysis;
 import com.ensoftcorp.open.pointsto.preferences.PointsToPreferences;
 import com.ensoftcorp.open.pointsto.ui.log.Log;
 
 public class PointsToAliasesSmartView extends FilteringAtlasSmartViewScript implements IResizableScript, IExplorableScript {
 
+	// answers queries for references that were not tagged by the whole program analysis, memoized until the next re-index
+	private final DemandPointsTo demandPointsTo = new DemandPointsTo();
+
 	@Override
 	protected String[] getSupportedNodeTags() {
 		return new String[]{XCSG.DataFlow_Node};
@@ -55,8 +60,27 @@ public class PointsToAliasesSmartView extends FilteringAtlasSmartViewScript impl
 		// as determined by the points-to analysis
 		AtlasSet<Node> instantiationSet = new AtlasHashSet<Node>();
 		AtlasSet<Node> aliasNodes = new AtlasHashSet<Node>();
+		boolean usedDemandPointsTo = false;
+		AliasOracle aliasOracle = AliasOracle.getInstance();
 		for(Node node : filteredSelection.eval().nodes()){
-			Q aliases = PointsToAnalysis.getAliases(node);
+			boolean hasAliases = aliasOracle != null ? !aliasOracle.pointsTo(node).isEmpty() : PointsToAnalysis.getAliasTags(node).length != 0;
+			if(!hasAliases){
+				// the whole program analysis has not run, query the points-to set on demand
+				DemandPointsTo.Result demandResult = demandPointsTo.query(node);
+				if(!demandResult.isComplete()){
+					Log.warning("Points-to query budget exhausted, instantiations may be missing for reference: " + node.address().toAddressString());
+				}
+				usedDemandPointsTo = true;
+				aliasNodes.addAll(demandResult.getReachedNodes());
+				if(!demandResult.getInstantiations().isEmpty()){
+					instantiationSet.addAll(demandResult.getInstantiations());
+				} else {
+					Log.warning("No known instantation for reference: " + node.address().toAddressString());
+				}
+				continue;
+			}
+			// enumerate the aliases from the solved points-to sets if they are available
+			Q aliases = aliasOracle != null ? Common.toQ(aliasOracle.aliasesOf(node)) : PointsToAnalysis.getAliases(node);
 			if(!useInferredDataFlow) {
 				aliasNodes.addAll(aliases.eval().nodes());
 			}
@@ -69,7 +93,7 @@ public class PointsToAliasesSmartView extends FilteringAtlasSmartViewScript impl
 		}
 		
 		Q inferredDF;
-		if(useInferredDataFlow) {
+		if(useInferredDataFlow && !usedDemandPointsTo) {
 			// this is easier to work with
 			inferredDF = Query.universe().edges(PointsToAnalysis.INFERRED_DATA_FLOW);
 		} else {
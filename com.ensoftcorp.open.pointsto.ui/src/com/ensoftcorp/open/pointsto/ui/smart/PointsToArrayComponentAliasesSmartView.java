@@ -19,11 +19,16 @@ import com.ensoftcorp.atlas.ui.scripts.selections.IResizableScript;
 import com.ensoftcorp.atlas.ui.scripts.util.SimpleScriptUtil;
 import com.ensoftcorp.atlas.ui.selection.event.FrontierEdgeExploreEvent;
 import com.ensoftcorp.atlas.ui.selection.event.IAtlasSelectionEvent;
+import com.ensoftcorp.open.pointsto.analysis.DemandPointsTo;
 import com.ensoftcorp.open.pointsto.common.PointsToAnalysis;
 import com.ensoftcorp.open.pointsto.preferences.PointsToPreferences;
+import com.ensoftcorp.open.pointsto.ui.log.Log;
 
 public class PointsToArrayComponentAliasesSmartView extends FilteringAtlasSmartViewScript implements IResizableScript, IExplorableScript {
 
+	// answers queries for references that were not tagged by the whole program analysis, memoized until the next re-index
+	private final DemandPointsTo demandPointsTo = new DemandPointsTo();
+
 	@Override
 	protected String[] getSupportedNodeTags() {
 		return new String[]{XCSG.DataFlow_Node};
@@ -53,7 +58,19 @@ public class PointsToArrayComponentAliasesSmartView extends FilteringAtlasSmartV
 		AtlasSet<Node> arrayComponentsSet = new AtlasHashSet<Node>();
 		AtlasSet<Node> arrayComponentsInstantiationSet = new AtlasHashSet<Node>();
 		AtlasSet<Node> aliasNodes = new AtlasHashSet<Node>();
+		boolean usedDemandPointsTo = false;
 		for(Node node : filteredSelection.eval().nodes()){
+			if(PointsToAnalysis.getAliasTags(node).length == 0){
+				// the whole program analysis has not run, query the array components on demand
+				DemandPointsTo.Result demandResult = demandPointsTo.queryArrayComponents(node);
+				if(!demandResult.isComplete()){
+					Log.warning("Points-to query budget exhausted, array component instantiations may be missing for reference: " + node.address().toAddressString());
+				}
+				usedDemandPointsTo = true;
+				aliasNodes.addAll(demandResult.getReachedNodes());
+				arrayComponentsInstantiationSet.addAll(demandResult.getInstantiations());
+				continue;
+			}
 			Q aliases = PointsToAnalysis.getAliases(node);
 			if(!useInferredDataFlow) {
 				aliasNodes.addAll(aliases.eval().nodes());
@@ -73,7 +90,7 @@ public class PointsToArrayComponentAliasesSmartView extends FilteringAtlasSmartV
 		Q arrayComponentInstantiations = Common.toQ(arrayComponentsInstantiationSet);
 
 		Q inferredDF;
-		if(useInferredDataFlow) {
+		if(useInferredDataFlow && !usedDemandPointsTo) {
 			// this is easier to work with
 			inferredDF = Query.universe().edges(PointsToAnalysis.INFERRED_DATA_FLOW);
 		} else {
@@ -0,0 +1,473 @@
+package com.ensoftcorp.open.pointsto.analysis;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.ensoftcorp.atlas.core.db.graph.Edge;
+import com.ensoftcorp.atlas.core.db.graph.Graph;
+import com.ensoftcorp.atlas.core.db.graph.GraphElement.NodeDirection;
+import com.ensoftcorp.atlas.core.db.graph.Node;
+import com.ensoftcorp.atlas.core.db.set.AtlasHashSet;
+import com.ensoftcorp.atlas.core.db.set.AtlasSet;
+import com.ensoftcorp.atlas.core.query.Attr;
+import com.ensoftcorp.atlas.core.query.Query;
+import com.ensoftcorp.atlas.core.script.Common;
+import com.ensoftcorp.atlas.core.xcsg.XCSG;
+import com.ensoftcorp.open.pointsto.log.Log;
+import com.ensoftcorp.open.pointsto.preferences.PointsToPreferences;
+import com.ensoftcorp.open.pointsto.utilities.AnalysisUtilities;
+import com.ensoftcorp.open.pointsto.utilities.ArrayAccessIndex;
+import com.ensoftcorp.open.pointsto.utilities.SubtypeCache;
+
+import net.ontopia.utils.CompactHashMap;
+
+/**
+ * A demand driven points-to analysis that computes the instantiations a
+ * single reference may point to without running the whole program analysis.
+ *
+ * A query explores the data flow graph backwards from the reference until it
+ * reaches instantiations. Every data flow edge is followed (including every
+ * possible dynamic dispatch), so the result is a conservative over
+ * approximation of the whole program analysis that is filtered by the stated
+ * type of the reference. An array read is answered by querying its array
+ * references and then following the array writes whose array references may
+ * point to the same arrays. Only the array write references whose stated type
+ * can refer to one of those arrays are queried.
+ *
+ * Results of complete queries are memoized and reused by later queries. Each
+ * query is limited to a budget of explored nodes. A query that runs out of
+ * budget (or depends on a query that is still in progress) returns a partial
+ * result that is not memoized.
+ *
+ * @author Ben Holland
+ */
+public class DemandPointsTo {
+
+	/**
+	 * The default number of nodes a query may explore
+	 */
+	public static final int DEFAULT_BUDGET = 100000;
+
+	/**
+	 * The result of a points-to query
+	 */
+	public static class Result {
+		private final AtlasSet<Node> instantiations;
+		private final AtlasSet<Node> reachedNodes;
+		private final boolean complete;
+
+		private Result(AtlasSet<Node> instantiations, AtlasSet<Node> reachedNodes, boolean complete) {
+			this.instantiations = instantiations;
+			this.reachedNodes = reachedNodes;
+			this.complete = complete;
+		}
+
+		/**
+		 * Returns the instantiations the queried reference may point to
+		 * @return
+		 */
+		public AtlasSet<Node> getInstantiations() {
+			return instantiations;
+		}
+
+		/**
+		 * Returns the data flow nodes that were explored to answer the query
+		 * @return
+		 */
+		public AtlasSet<Node> getReachedNodes() {
+			return reachedNodes;
+		}
+
+		/**
+		 * Returns false if the query ran out of budget and the instantiations
+		 * may be missing results
+		 * @return
+		 */
+		public boolean isComplete() {
+			return complete;
+		}
+	}
+
+	private final int budget;
+	private int remainingBudget;
+
+	private final IProgressMonitor monitor = new org.eclipse.core.runtime.NullProgressMonitor();
+	private Graph dfGraph;
+	private ArrayAccessIndex arrayAccessIndex;
+	private CompactHashMap<Node,AtlasSet<Node>> arrayWriteReferencesByType;
+	private AtlasSet<Node> untypedArrayWriteReferences;
+	private SubtypeCache subtypes;
+
+	/**
+	 * Incremented each time the program graph is re-indexed
+	 */
+	private static volatile long indexGeneration = 0;
+	
+	/**
+	 * The index generation of the program graph the memoized results and the
+	 * data flow graph were computed from
+	 */
+	private long generation = -1;
+
+	/**
+	 * Memoized results of complete queries
+	 */
+	private final CompactHashMap<Node,Result> results = new CompactHashMap<Node,Result>();
+
+	/**
+	 * References with a query in progress
+	 */
+	private final AtlasSet<Node> inProgress = new AtlasHashSet<Node>();
+
+	public DemandPointsTo() {
+		this(DEFAULT_BUDGET);
+	}
+
+	/**
+	 * Creates a demand driven points-to analysis whose queries explore at most
+	 * the given number of nodes
+	 *
+	 * @param budget
+	 */
+	public DemandPointsTo(int budget) {
+		this.budget = budget;
+	}
+
+	/**
+	 * Returns the instantiations the given reference may point to
+	 *
+	 * @param reference
+	 * @return
+	 */
+	public synchronized Result query(Node reference) {
+		prepare();
+		Result result = results.get(reference);
+		if(result != null){
+			return result;
+		}
+		remainingBudget = budget;
+		long start = System.currentTimeMillis();
+		result = solve(reference);
+		if(PointsToPreferences.isGeneralLoggingEnabled()) {
+			Log.info("Demand points-to query explored " + result.getReachedNodes().size() + " nodes in "
+					+ (System.currentTimeMillis() - start) + "ms" + (result.isComplete() ? "" : " (budget exhausted)"));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the instantiations that may be stored in the components of the
+	 * arrays the given reference may point to
+	 *
+	 * @param reference
+	 * @return
+	 */
+	public synchronized Result queryArrayComponents(Node reference) {
+		prepare();
+		remainingBudget = budget;
+		long start = System.currentTimeMillis();
+		Result arrayResult = solveNested(reference);
+		boolean complete = arrayResult.isComplete();
+		AtlasSet<Node> instantiations = new AtlasHashSet<Node>();
+		AtlasSet<Node> reached = new AtlasHashSet<Node>(arrayResult.getReachedNodes());
+		AtlasSet<Node> arrays = new AtlasHashSet<Node>();
+		for(Node instantiation : arrayResult.getInstantiations()){
+			if(instantiation.taggedWith(XCSG.ArrayInstantiation)){
+				arrays.add(instantiation);
+			}
+		}
+		if(!arrays.isEmpty()){
+			AtlasSet<Node> arrayWrites = new AtlasHashSet<Node>();
+			complete &= findArrayWrites(arrays, arrayWrites);
+			for(Node arrayWrite : arrayWrites){
+				Result arrayWriteResult = solveNested(arrayWrite);
+				if(arrayWriteResult == null){
+					complete = false;
+					continue;
+				}
+				complete &= arrayWriteResult.isComplete();
+				instantiations.addAll(arrayWriteResult.getInstantiations());
+				reached.addAll(arrayWriteResult.getReachedNodes());
+			}
+		}
+		Result result = new Result(instantiations, reached, complete);
+		if(PointsToPreferences.isGeneralLoggingEnabled()) {
+			Log.info("Demand array component query explored " + reached.size() + " nodes in "
+					+ (System.currentTimeMillis() - start) + "ms" + (complete ? "" : " (budget exhausted)"));
+		}
+		return result;
+	}
+
+	/**
+	 * Clears the memoized results of an earlier program graph and loads the
+	 * data flow graph of the current program graph
+	 */
+	private void prepare() {
+		long currentGeneration = indexGeneration;
+		if(generation != currentGeneration){
+			clear();
+			generation = currentGeneration;
+		}
+		if(dfGraph == null){
+			dfGraph = Common.resolve(monitor, Query.universe().edges(XCSG.DataFlow_Edge)).eval();
+		}
+	}
+
+	/**
+	 * Invalidates the memoized results of every demand driven analysis, the
+	 * next query of each analysis starts from the current program graph
+	 */
+	public static void invalidate() {
+		indexGeneration++;
+	}
+
+	/**
+	 * Clears the memoized results, for instance after the program graph changed
+	 */
+	public synchronized void clear() {
+		results.clear();
+		dfGraph = null;
+		arrayAccessIndex = null;
+		arrayWriteReferencesByType = null;
+		untypedArrayWriteReferences = null;
+		subtypes = null;
+	}
+
+	private Result solve(Node reference) {
+		inProgress.add(reference);
+		boolean complete = true;
+		AtlasSet<Node> instantiations = new AtlasHashSet<Node>();
+		AtlasSet<Node> reached = new AtlasHashSet<Node>();
+		Deque<Node> worklist = new ArrayDeque<Node>();
+		reached.add(reference);
+		worklist.add(reference);
+		while(!worklist.isEmpty()){
+			if(remainingBudget-- <= 0){
+				complete = false;
+				break;
+			}
+			Node node = worklist.remove();
+
+			// reuse the complete results of earlier queries
+			if(node != reference){
+				Result memoized = results.get(node);
+				if(memoized != null){
+					instantiations.addAll(memoized.getInstantiations());
+					reached.addAll(memoized.getReachedNodes());
+					continue;
+				}
+			}
+
+			if(isInstantiation(node)){
+				instantiations.add(node);
+			}
+
+			// values of an array read come from the array writes to the same arrays
+			if(PointsToPreferences.isArrayComponentTrackingEnabled() && node.taggedWith(XCSG.ArrayRead)){
+				complete &= addArrayWrites(node, instantiations, reached, worklist);
+			}
+
+			for(Edge edge : dfGraph.edges(node, NodeDirection.IN)){
+				Node predecessor = edge.from();
+				if(reached.add(predecessor)){
+					worklist.add(predecessor);
+				}
+			}
+		}
+		inProgress.remove(reference);
+
+		Result result = new Result(filterInstantiations(reference, instantiations), reached, complete);
+		if(complete){
+			results.put(reference, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Adds the array writes that may write to the arrays the given array read
+	 * reads from to the worklist. Returns false if the array references could
+	 * not be completely resolved.
+	 */
+	private boolean addArrayWrites(Node arrayRead, AtlasSet<Node> instantiations, AtlasSet<Node> reached, Deque<Node> worklist) {
+		indexArrays();
+		boolean complete = true;
+		AtlasSet<Node> arrays = new AtlasHashSet<Node>();
+		for(Node arrayReadReference : arrayAccessIndex.getArrayReferences(arrayRead)){
+			Result arrayReadReferenceResult = solveNested(arrayReadReference);
+			if(arrayReadReferenceResult == null){
+				complete = false;
+				continue;
+			}
+			complete &= arrayReadReferenceResult.isComplete();
+			for(Node instantiation : arrayReadReferenceResult.getInstantiations()){
+				if(instantiation.taggedWith(XCSG.ArrayInstantiation)){
+					arrays.add(instantiation);
+				}
+			}
+		}
+		if(arrays.isEmpty()){
+			return complete;
+		}
+
+		// the inner dimensions of a multi-dimensional array are allocated by the same instantiation
+		instantiations.addAll(arrays);
+
+		AtlasSet<Node> arrayWrites = new AtlasHashSet<Node>();
+		complete &= findArrayWrites(arrays, arrayWrites);
+		for(Node arrayWrite : arrayWrites){
+			if(reached.add(arrayWrite)){
+				worklist.add(arrayWrite);
+			}
+		}
+		return complete;
+	}
+
+	/**
+	 * Adds the array writes whose array references may point to the given
+	 * arrays to the given set of array writes. Returns false if the array
+	 * references could not be completely resolved.
+	 */
+	private boolean findArrayWrites(AtlasSet<Node> arrays, AtlasSet<Node> arrayWrites) {
+		indexArrays();
+		boolean complete = true;
+		for(Node arrayWriteReference : getCandidateArrayWriteReferences(arrays)){
+			if(remainingBudget <= 0){
+				return false;
+			}
+			Result arrayWriteReferenceResult = solveNested(arrayWriteReference);
+			if(arrayWriteReferenceResult == null){
+				complete = false;
+				continue;
+			}
+			complete &= arrayWriteReferenceResult.isComplete();
+			for(Node instantiation : arrayWriteReferenceResult.getInstantiations()){
+				if(arrays.contains(instantiation)){
+					for(Node arrayWrite : arrayAccessIndex.getArrayWriteAccesses(arrayWriteReference)){
+						arrayWrites.add(arrayWrite);
+					}
+					break;
+				}
+			}
+		}
+		return complete;
+	}
+
+	private void indexArrays() {
+		if(arrayAccessIndex == null){
+			arrayAccessIndex = new ArrayAccessIndex(monitor);
+			indexArrayWriteReferences();
+		}
+	}
+
+	/**
+	 * Indexes the array write references of the program graph by their stated
+	 * type
+	 */
+	private void indexArrayWriteReferences() {
+		arrayWriteReferencesByType = new CompactHashMap<Node,AtlasSet<Node>>();
+		untypedArrayWriteReferences = new AtlasHashSet<Node>();
+		if(subtypes == null){
+			subtypes = new SubtypeCache(monitor);
+		}
+		AtlasSet<Node> arrayWriteReferences = Query.universe().edges(XCSG.ArrayIdentityFor).predecessors(Query.universe().nodes(XCSG.ArrayWrite)).eval().nodes();
+		for(Node arrayWriteReference : arrayWriteReferences){
+			Node type = AnalysisUtilities.statedType(arrayWriteReference);
+			if(type == null){
+				untypedArrayWriteReferences.add(arrayWriteReference);
+				continue;
+			}
+			AtlasSet<Node> typedArrayWriteReferences = arrayWriteReferencesByType.get(type);
+			if(typedArrayWriteReferences == null){
+				typedArrayWriteReferences = new AtlasHashSet<Node>();
+				arrayWriteReferencesByType.put(type, typedArrayWriteReferences);
+			}
+			typedArrayWriteReferences.add(arrayWriteReference);
+		}
+	}
+
+	/**
+	 * Returns the array write references whose stated type can refer to an
+	 * array (or an inner dimension of an array) allocated by the given array
+	 * instantiations
+	 */
+	private AtlasSet<Node> getCandidateArrayWriteReferences(AtlasSet<Node> arrays) {
+		AtlasSet<Node> arrayTypes = new AtlasHashSet<Node>();
+		for(Node array : arrays){
+			Node arrayType = AnalysisUtilities.statedType(array);
+			if(arrayType == null || !arrayType.hasAttr(Attr.Node.DIMENSION)){
+				// the arrays can not be typed, so any array write reference may refer to them
+				AtlasSet<Node> candidates = new AtlasHashSet<Node>(untypedArrayWriteReferences);
+				for(AtlasSet<Node> typedArrayWriteReferences : arrayWriteReferencesByType.values()){
+					candidates.addAll(typedArrayWriteReferences);
+				}
+				return candidates;
+			}
+			arrayTypes.add(arrayType);
+			int arrayDimension = (int) arrayType.getAttr(Attr.Node.DIMENSION);
+			Node arrayElementType = Query.universe().edges(XCSG.ArrayElementType).successors(Common.toQ(arrayType)).eval().nodes().one();
+			for(int i=arrayDimension-1; i>0 && arrayElementType != null; i--){
+				Node innerArrayType = AnalysisUtilities.getArrayTypeForDimension(arrayElementType, i);
+				if(innerArrayType != null){
+					arrayTypes.add(innerArrayType);
+				}
+			}
+		}
+		AtlasSet<Node> candidates = new AtlasHashSet<Node>(untypedArrayWriteReferences);
+		for(Node type : arrayWriteReferencesByType.keySet()){
+			for(Node arrayType : arrayTypes){
+				if(subtypes.isSubtypeOf(arrayType, type)){
+					candidates.addAll(arrayWriteReferencesByType.get(type));
+					break;
+				}
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Returns the result of a query made while answering another query, or
+	 * null if the query is already in progress
+	 */
+	private Result solveNested(Node reference) {
+		Result result = results.get(reference);
+		if(result != null){
+			return result;
+		}
+		if(inProgress.contains(reference)){
+			return null;
+		}
+		return solve(reference);
+	}
+
+	private boolean isInstantiation(Node node) {
+		if(node.taggedWith(XCSG.Instantiation) || node.taggedWith(XCSG.ArrayInstantiation) || node.taggedWith(XCSG.Java.EnumConstant)){
+			return true;
+		}
+		return PointsToPreferences.isTrackPrimitivesEnabled() && node.taggedWith(XCSG.Literal);
+	}
+
+	/**
+	 * Returns the instantiations whose type is compatible with the stated type
+	 * of the reference
+	 */
+	private AtlasSet<Node> filterInstantiations(Node reference, AtlasSet<Node> instantiations) {
+		Node referenceType = AnalysisUtilities.statedType(reference);
+		if(referenceType == null){
+			return instantiations;
+		}
+		if(subtypes == null){
+			subtypes = new SubtypeCache(monitor);
+		}
+		AtlasSet<Node> result = new AtlasHashSet<Node>();
+		for(Node instantiation : instantiations){
+			Node instantiationType = AnalysisUtilities.statedType(instantiation);
+			if(instantiationType == null || instantiationType.taggedWith(XCSG.Primitive) || subtypes.isSubtypeOf(instantiationType, referenceType)){
+				result.add(instantiation);
+			}
+		}
+		return result;
+	}
+
+}
@@ -1,6 +1,11 @@
 package com.ensoftcorp.open.pointsto.analysis;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PrimitiveIterator;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -17,16 +22,27 @@ import com.ensoftcorp.atlas.core.query.Q;
 import com.ensoftcorp.atlas.core.query.Query;
 import com.ensoftcorp.atlas.core.script.Common;
 import com.ensoftcorp.atlas.core.xcsg.XCSG;
-import com.ensoftcorp.open.java.commons.analysis.CommonQueries;
 import com.ensoftcorp.open.pointsto.log.Log;
 import com.ensoftcorp.open.pointsto.preferences.PointsToPreferences;
-import com.ensoftcorp.open.pointsto.utilities.AddressFactory;
 import com.ensoftcorp.open.pointsto.utilities.AnalysisUtilities;
+import com.ensoftcorp.open.pointsto.utilities.ArrayAccessIndex;
+import com.ensoftcorp.open.pointsto.utilities.ContextSensitiveAddressFactory;
+import com.ensoftcorp.open.pointsto.utilities.ContextTable;
+import com.ensoftcorp.open.pointsto.utilities.DispatchIndex;
+import com.ensoftcorp.open.pointsto.utilities.FieldAccessIndex;
 import com.ensoftcorp.open.pointsto.utilities.SubtypeCache;
+import com.ensoftcorp.open.pointsto.utilities.TypeFilterCache;
 import com.ensoftcorp.open.pointsto.utilities.frontier.FIFOFrontier;
 import com.ensoftcorp.open.pointsto.utilities.frontier.Frontier;
+import com.ensoftcorp.open.pointsto.utilities.frontier.IndexedFrontier;
+import com.ensoftcorp.open.pointsto.utilities.frontier.IntFIFOFrontier;
+import com.ensoftcorp.open.pointsto.utilities.frontier.IntLIFOFrontier;
+import com.ensoftcorp.open.pointsto.utilities.frontier.IntLRUFrontier;
 import com.ensoftcorp.open.pointsto.utilities.frontier.LIFOFrontier;
 import com.ensoftcorp.open.pointsto.utilities.frontier.LRUFrontier;
+import com.ensoftcorp.open.pointsto.utilities.frontier.PriorityFrontier;
+import com.ensoftcorp.open.pointsto.utilities.frontier.WaveFrontier;
+import com.ensoftcorp.open.pointsto.utilities.set.PointsToSet;
 
 import net.ontopia.utils.CompactHashMap;
 
@@ -37,60 +53,6 @@ import net.ontopia.utils.CompactHashMap;
  */
 public class JimplePointsTo extends PointsTo {
 
-	/**
-	 * Attribute key name for node points-to sets
-	 */
-	private static final String POINTS_TO_SET = "jimple-points-to-set";
-
-	/**
-	 * Gets or creates the points to set for a graph element.
-	 * Returns a reference to the points to set so that updates to the 
-	 * set will also update the set on the graph element.
-	 * @param ge
-	 * @return 
-	 */
-	@SuppressWarnings("unchecked")
-	private static HashSet<Integer> getPointsToSet(Node node){
-		if(node.hasAttr(POINTS_TO_SET)){
-			return (HashSet<Integer>) node.getAttr(POINTS_TO_SET);
-		} else {
-			HashSet<Integer> pointsToIds = new HashSet<Integer>();
-			node.putAttr(POINTS_TO_SET, pointsToIds);
-			return pointsToIds;
-		}
-	}
-	
-	@Override
-	public void dispose(){
-		if(isDisposed){
-			throw new RuntimeException("Points-to analysis was disposed.");
-		}
-		isDisposed = true;
-		// remove the temporary attributes
-		AtlasSet<Node> addressedObjects = new AtlasHashSet<Node>(Query.universe().selectNode(POINTS_TO_SET).eval().nodes());
-		while(!addressedObjects.isEmpty()){
-			Node addressedObject = addressedObjects.one();
-			addressedObject.removeAttr(POINTS_TO_SET);
-			addressedObjects.remove(addressedObject);
-		}
-	}
-	
-	@Override
-	public void addAliasAddress(Node node, Integer address) {
-		if(isDisposed){
-			throw new RuntimeException("Points-to analysis was disposed.");
-		}
-		getPointsToSet(node).add(address);
-	}
-
-	@Override
-	public void removeAliasAddress(Node node, Integer address) {
-		if(isDisposed){
-			throw new RuntimeException("Points-to analysis was disposed.");
-		}
-		getPointsToSet(node).remove(address);
-	}
-	
 	@Override
 	public HashSet<Integer> getAliasAddresses() {
 		HashSet<Integer> result = new HashSet<Integer>();
@@ -100,20 +62,22 @@ public class JimplePointsTo extends PointsTo {
 		return result;
 	}
 	
-	@Override
-	public HashSet<Integer> getAliasAddresses(Node node) {
-		if(isDisposed){
-			throw new RuntimeException("Points-to analysis was disposed.");
-		}
-		HashSet<Integer> result = new HashSet<Integer>();
-		result.addAll(getPointsToSet(node));
-		return result;
-	}
+	/**
+	 * A factory class for producing new unique addresses, and cloned addresses
+	 * of objects returned to a call site (heap cloning mode)
+	 */
+	private final ContextSensitiveAddressFactory addressFactory = new ContextSensitiveAddressFactory();
 	
 	/**
-	 * A factory class for producing new unique addresses
+	 * The call site contexts of cloned addresses (heap cloning mode)
 	 */
-	private final AddressFactory addressFactory = new AddressFactory();
+	private ContextTable contexts;
+	
+	/**
+	 * A cache of the method containing each node (heap cloning mode)
+	 */
+	private Graph containsGraph;
+	private final CompactHashMap<Node,Node> containingMethods = new CompactHashMap<Node,Node>();
 	
 	/**
 	 * Defines the address of the null type
@@ -125,22 +89,12 @@ public class JimplePointsTo extends PointsTo {
 	 */
 	private final CompactHashMap<Integer,Node> addressToInstantiation = new CompactHashMap<Integer,Node>();
 
-	@Override
-	public AtlasSet<Node> getAddressedNodes() {
-		if(isDisposed){
-			throw new RuntimeException("Points-to analysis was disposed.");
-		}
-		return new AtlasHashSet<Node>(Query.universe().selectNode(POINTS_TO_SET).eval().nodes());
-	}
-	
 	@Override
 	public HashSet<Integer> getArrayMemoryModelAliases(Integer address) {
 		if(isDisposed){
 			throw new RuntimeException("Points-to analysis was disposed.");
 		}
-		HashSet<Integer> result = new HashSet<Integer>();
-		result.addAll(arrayMemoryModel.get(address));
-		return result;
+		return arrayMemoryModel.get(address).toHashSet();
 	}
 
 	@Override
@@ -189,6 +143,11 @@ public class JimplePointsTo extends PointsTo {
 	 */
 	private final SubtypeCache subtypes = new SubtypeCache(monitor);
 	
+	/**
+	 * Cached masks of the addresses that are type-compatible with each stated type
+	 */
+	private final TypeFilterCache typeFilters = new TypeFilterCache(subtypes);
+	
 	/**
 	 * A model for the contents of a particular array dimension. The model is
 	 * stored as a map of array references to a list of the contents of each
@@ -200,7 +159,32 @@ public class JimplePointsTo extends PointsTo {
 	 * address2->{nullType}, and address1 would have propagated from the
 	 * "new Foo[x][y]" array instantiation.
 	 */
-	private final CompactHashMap<Integer,HashSet<Integer>> arrayMemoryModel = new CompactHashMap<Integer,HashSet<Integer>>();
+	private final CompactHashMap<Integer,PointsToSet> arrayMemoryModel = new CompactHashMap<Integer,PointsToSet>();
+	
+	/**
+	 * The address of the next lower dimension of each array address of a
+	 * multi-dimensional array
+	 */
+	private final CompactHashMap<Integer,Integer> arrayDimensionAddresses = new CompactHashMap<Integer,Integer>();
+	
+	/**
+	 * A mapping of object addresses to the addresses of the values of each
+	 * instance field of the object. This is only used in field sensitive mode,
+	 * where each (object address, field) pair is tracked separately instead of
+	 * sharing one field node between every instance of a class.
+	 */
+	private final CompactHashMap<Integer,CompactHashMap<Node,PointsToSet>> fieldMemoryModel = new CompactHashMap<Integer,CompactHashMap<Node,PointsToSet>>();
+	
+	/**
+	 * The instance field accesses of the data flow graph (field sensitive mode)
+	 */
+	private FieldAccessIndex fieldAccessIndex;
+	
+	/**
+	 * The base references of field reads that point to each object address
+	 * (field sensitive mode)
+	 */
+	private CompactHashMap<Integer,AtlasSet<Node>> objectAddressToFieldReadReferences = new CompactHashMap<Integer,AtlasSet<Node>>();
 
 	/*
 	 * The underlying data flow graph used to propagate points-to information.
@@ -214,19 +198,80 @@ public class JimplePointsTo extends PointsTo {
 	private AtlasSet<Node> dfNodes = new AtlasHashSet<Node>();
 	private AtlasSet<Edge> dfEdges = new AtlasHashSet<Edge>();
 	
+	/**
+	 * Graphs and sets for resolving dynamic dispatches
+	 */
+	private AtlasHashSet<Node> dynamicCallsiteThisSet;
+	private Graph dfInvokeThisGraph;
+	private Graph methodSignatureGraph;
+	private DispatchIndex dispatchIndex;
+	
+	/**
+	 * The runtime types already resolved at each dynamic dispatch callsite
+	 */
+	private CompactHashMap<Node,AtlasSet<Node>> resolvedReceiverTypes = new CompactHashMap<Node,AtlasSet<Node>>();
+	
+	/**
+	 * The array references of array accesses
+	 */
+	private AtlasSet<Node> arrayReferences;
+	
+	/**
+	 * The array references of array reads
+	 */
+	private AtlasSet<Node> arrayReadReferences;
+	
+	/**
+	 * The array accesses of each array reference and the array references of
+	 * each array access
+	 */
+	private ArrayAccessIndex arrayAccessIndex;
+	
+	/**
+	 * The array read references that point to each array address
+	 */
+	private CompactHashMap<Integer,AtlasSet<Node>> arrayAddressToReadReferences = new CompactHashMap<Integer,AtlasSet<Node>>();
+	
+	/**
+	 * True if data flow edges were added since the wave ranks were computed
+	 */
+	private boolean waveRanksStale = false;
+	
 	public JimplePointsTo() {
 		if(PointsToPreferences.isPointsToAnalysisFIFOFrontierMode()) {
-			frontier = new FIFOFrontier<Node>();
+			if(PointsToPreferences.isIndexedFrontierEnabled()) {
+				frontier = new IndexedFrontier(new IntFIFOFrontier(), getNodeIndex());
+			} else {
+				frontier = new FIFOFrontier<Node>();
+			}
 			if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Points-to Analysis Frontier Mode: FIFO");
 		} else if(PointsToPreferences.isPointsToAnalysisLIFOFrontierMode()) {
-			frontier = new LIFOFrontier<Node>();
+			if(PointsToPreferences.isIndexedFrontierEnabled()) {
+				frontier = new IndexedFrontier(new IntLIFOFrontier(), getNodeIndex());
+			} else {
+				frontier = new LIFOFrontier<Node>();
+			}
 			if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Points-to Analysis Frontier Mode: LIFO");
 		} else if(PointsToPreferences.isPointsToAnalysisLRUFrontierMode()) {
-			frontier = new LRUFrontier<Node>();
+			if(PointsToPreferences.isIndexedFrontierEnabled()) {
+				frontier = new IndexedFrontier(new IntLRUFrontier(), getNodeIndex());
+			} else {
+				frontier = new LRUFrontier<Node>();
+			}
 			if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Points-to Analysis Frontier Mode: LRU");
+		} else if(PointsToPreferences.isPointsToAnalysisWaveFrontierMode()) {
+			frontier = new WaveFrontier<Node>();
+			if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Points-to Analysis Frontier Mode: Wave");
+		} else if(PointsToPreferences.isPointsToAnalysisPriorityFrontierMode()) {
+			frontier = new PriorityFrontier<Node>();
+			if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Points-to Analysis Frontier Mode: Priority");
 		} else { 
 			// default
-			frontier = new FIFOFrontier<Node>();
+			if(PointsToPreferences.isIndexedFrontierEnabled()) {
+				frontier = new IndexedFrontier(new IntFIFOFrontier(), getNodeIndex());
+			} else {
+				frontier = new FIFOFrontier<Node>();
+			}
 			if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Points-to Analysis Frontier Mode: FIFO");
 		}
 	}
@@ -251,6 +296,7 @@ public class JimplePointsTo extends PointsTo {
 		Node nullType = Query.universe().nodes(XCSG.Java.NullType).eval().nodes().one();
 		addressToInstantiation.put(NULL_TYPE_ADDRESS, nullType);
 		addressToType.put(NULL_TYPE_ADDRESS, nullType);
+		typeFilters.addAddress(NULL_TYPE_ADDRESS, nullType);
 		
 		// TODO: consider external root set objects
 		
@@ -272,57 +318,71 @@ public class JimplePointsTo extends PointsTo {
 				lastUpdateTime = System.currentTimeMillis();
 			}
 			
-			Node statedType = AnalysisUtilities.statedType(newRef);
-			if(statedType != null){
-				// create a new address for the reference and add a  
-				// mapping from the address to the state type
-				Integer address = NULL_TYPE_ADDRESS;
-				if(!statedType.equals(nullType)){
-					address = addressFactory.getNewAddress();
-				}
-				getPointsToSet(newRef).add(address);
-				serializeAlias(newRef, address);
-				addressToInstantiation.put(address, newRef);
-				addressToType.put(address, statedType);
-				
-				// if this is an array instantiation then we should create an
-				// array memory model and addresses for array memory references
-				// of each array dimension of the array
-				if(PointsToPreferences.isArrayComponentTrackingEnabled() && statedType.hasAttr(Attr.Node.DIMENSION)){
-					Node arrayType = statedType;
-					int arrayDimension = (int) arrayType.getAttr(Attr.Node.DIMENSION);
-					Node arrayElementType = Query.universe().edges(XCSG.ArrayElementType).successors(Common.toQ(arrayType)).eval().nodes().one();
-					// the top dimension has already been addressed, so start at dimension minus 1
-					for(int i=arrayDimension-1; i>0; i--){
-						// map array dimension address to array dimension type
-						Integer arrayDimensionAddress = addressFactory.getNewAddress();
-						addressToInstantiation.put(arrayDimensionAddress, newRef);
-						arrayType = AnalysisUtilities.getArrayTypeForDimension(arrayElementType, i);
-						addressToType.put(arrayDimensionAddress, arrayType);
-						// map address containing dimension to array dimension, address1 -> set: { address2 }
-						HashSet<Integer> arrayValueAddresses = new HashSet<Integer>();
-						arrayValueAddresses.add(arrayDimensionAddress);
-						arrayMemoryModel.put(address, arrayValueAddresses);
-						// update the current address to the next array level
-						address = arrayDimensionAddress;
-					}
-					// map lowest level of arrayAddress -> set: { NULL_TYPE_ADDRESS }
-					// since array contents are initialized to null by default
-					HashSet<Integer> arrayValueAddresses = new HashSet<Integer>();
-					arrayValueAddresses.add(NULL_TYPE_ADDRESS);
+			seedInstantiation(newRef, nullType);
+		}
+		
+		if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Tracking " + newRefNodesSize + " object aliases.");
+	}
+	
+	/**
+	 * Assigns a new address to the given instantiation (or the null address
+	 * to null) and adds it to the frontier. An array instantiation also gets
+	 * an address and an array memory model for each array dimension.
+	 * 
+	 * @param newRef
+	 * @param nullType
+	 */
+	private void seedInstantiation(Node newRef, Node nullType) {
+		Node statedType = statedType(newRef);
+		if(statedType != null){
+			// create a new address for the reference and add a  
+			// mapping from the address to the state type
+			Integer address = NULL_TYPE_ADDRESS;
+			if(!statedType.equals(nullType)){
+				address = addressFactory.getNewAddress();
+			}
+			addAddress(newRef, address);
+			addressToInstantiation.put(address, newRef);
+			addressToType.put(address, statedType);
+			typeFilters.addAddress(address, statedType);
+			
+			// if this is an array instantiation then we should create an
+			// array memory model and addresses for array memory references
+			// of each array dimension of the array
+			if(PointsToPreferences.isArrayComponentTrackingEnabled() && statedType.hasAttr(Attr.Node.DIMENSION)){
+				Node arrayType = statedType;
+				int arrayDimension = (int) arrayType.getAttr(Attr.Node.DIMENSION);
+				Node arrayElementType = Query.universe().edges(XCSG.ArrayElementType).successors(Common.toQ(arrayType)).eval().nodes().one();
+				// the top dimension has already been addressed, so start at dimension minus 1
+				for(int i=arrayDimension-1; i>0; i--){
+					// map array dimension address to array dimension type
+					Integer arrayDimensionAddress = addressFactory.getNewAddress();
+					addressToInstantiation.put(arrayDimensionAddress, newRef);
+					arrayType = AnalysisUtilities.getArrayTypeForDimension(arrayElementType, i);
+					addressToType.put(arrayDimensionAddress, arrayType);
+					typeFilters.addAddress(arrayDimensionAddress, arrayType);
+					// map address containing dimension to array dimension, address1 -> set: { address2 }
+					PointsToSet arrayValueAddresses = newPointsToSet();
+					arrayValueAddresses.add(arrayDimensionAddress);
 					arrayMemoryModel.put(address, arrayValueAddresses);
+					arrayDimensionAddresses.put(address, arrayDimensionAddress);
+					// update the current address to the next array level
+					address = arrayDimensionAddress;
 				}
-				frontier.add(newRef);
+				// map lowest level of arrayAddress -> set: { NULL_TYPE_ADDRESS }
+				// since array contents are initialized to null by default
+				PointsToSet arrayValueAddresses = newPointsToSet();
+				arrayValueAddresses.add(NULL_TYPE_ADDRESS);
+				arrayMemoryModel.put(address, arrayValueAddresses);
+			}
+			frontier.add(newRef);
+		} else {
+			if(newRef.tags().contains(XCSG.ArrayInstantiation)){
+				Log.warning("No stated type during initialization for Array: " + newRef.address().toAddressString());
 			} else {
-				if(newRef.tags().contains(XCSG.ArrayInstantiation)){
-					Log.warning("No stated type during initialization for Array: " + newRef.address().toAddressString());
-				} else {
-					Log.warning("No stated type during initialization for Object: " + newRef.address().toAddressString());
-				}
+				Log.warning("No stated type during initialization for Object: " + newRef.address().toAddressString());
 			}
 		}
-		
-		if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Tracking " + newRefNodesSize + " object aliases.");
 	}
 
 	/**
@@ -374,132 +434,530 @@ public class JimplePointsTo extends PointsTo {
 			dfGraph = new UncheckedGraph(dfNodes, dfEdges);
 		}
 		
-		if(PointsToPreferences.isCollapsingSCCsEnabled()) dfGraph = collapseSCCs(dfGraph);
+		// in field sensitive mode instance field data flows are modeled per object by the field memory model
+		if(PointsToPreferences.isFieldSensitivityEnabled()){
+			fieldAccessIndex = new FieldAccessIndex(dfGraph, monitor);
+			for(Edge fieldDataFlowEdge : fieldAccessIndex.getFieldDataFlowEdges()){
+				dfEdges.remove(fieldDataFlowEdge);
+			}
+			dfGraph = new UncheckedGraph(dfNodes, dfEdges);
+		}
 		
-		// create graphs and sets for resolving dynamic dispatches
-		AtlasHashSet<Node> dynamicCallsiteThisSet = AnalysisUtilities.getDynamicCallsiteThisSet(monitor);
-		Graph dfInvokeThisGraph = Common.resolve(monitor, Query.universe().edges(XCSG.IdentityPassedTo)).eval();
-		Graph methodSignatureGraph = Common.resolve(monitor, Query.universe().edges(XCSG.InvokedFunction, XCSG.InvokedSignature)).eval();
+		if(PointsToPreferences.isCollapsingSCCsEnabled()) collapseSCCs(dfGraph);
+		
+		// create graphs and sets for resolving dynamic dispatches and performing array analysis
+		indexProgramGraph();
+		
+		// objects returned from a method may be cloned per call site they are returned to
+		if(PointsToPreferences.isHeapCloningEnabled()){
+			if(isParallelPropagationEnabled()){
+				Log.warning("Heap cloning is not supported during parallel propagation, objects will not be cloned.");
+			} else {
+				contexts = new ContextTable(PointsToPreferences.getHeapCloningDepth());
+				containsGraph = Common.resolve(monitor, Query.universe().edges(XCSG.Contains)).eval();
+				if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Heap cloning objects with call site contexts of depth " + contexts.getDepth());
+			}
+		}
 
+		// index the array read references by the array addresses they point to
+		if(PointsToPreferences.isArrayComponentTrackingEnabled()){
+			for(Node arrayReadReference : arrayReadReferences){
+				indexArrayReadReference(arrayReadReference);
+			}
+		}
+		
+		// index the base references of field reads by the object addresses they point to
+		if(PointsToPreferences.isFieldSensitivityEnabled()){
+			for(Node fieldReadReference : fieldAccessIndex.getFieldReadBaseReferences()){
+				indexFieldReadReference(fieldReadReference);
+			}
+		}
+		
+		// iteratively propagate points-to information until a fixed point is reached
+		propagate();
+	}
+
+	/**
+	 * This method incrementally updates the fixed point after the given
+	 * functions and types changed.
+	 * 
+	 * 1) The changed data flow nodes and the data flow nodes that were removed
+	 * from the program graph are invalid. Every node whose points-to set may
+	 * depend on an invalid node is affected (see computeAffectedNodes).
+	 * 
+	 * 2) The points-to sets of the affected nodes and the memory models the
+	 * affected nodes wrote to are discarded, and the data flow edges of the
+	 * invalid nodes are replaced by the current data flow edges of the changed
+	 * nodes.
+	 * 
+	 * 3) The affected nodes are re-seeded from their own addresses, their
+	 * unaffected predecessors and the unaffected writes to the discarded
+	 * memory models, then propagated to a new fixed point.
+	 * 
+	 * Resolved dynamic dispatch edges between unchanged nodes and collapsed
+	 * nodes are kept, so the result may be less precise (but not less sound)
+	 * than the result of a new analysis.
+	 */
+	@Override
+	protected void updateAnalysis(AtlasSet<Node> changed, AtlasSet<Node> changedNodes) {
+		lastUpdateTime = System.currentTimeMillis();
+		
+		// the changed nodes and the nodes that were removed from the program graph are invalid
+		AtlasSet<Node> liveNodes = Common.resolve(monitor, Query.universe().nodes(XCSG.DataFlow_Node)).eval().nodes();
+		AtlasSet<Node> invalidNodes = new AtlasHashSet<Node>(changedNodes);
+		for(Node node : dfNodes){
+			if(!liveNodes.contains(node)){
+				invalidNodes.add(node);
+			}
+		}
+		
+		// find everything that may depend on the invalid nodes before any points-to set is discarded
+		PointsToSet dirtyArrayAddresses = newPointsToSet();
+		CompactHashMap<Node,PointsToSet> dirtyFieldAddresses = new CompactHashMap<Node,PointsToSet>();
+		AtlasSet<Node> affectedNodes = computeAffectedNodes(invalidNodes, dirtyArrayAddresses, dirtyFieldAddresses);
+		if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Invalidating " + affectedNodes.size() + " of " + dfNodes.size() + " data flow nodes");
+		
+		// discard the points-to sets of the affected nodes
+		for(Node node : affectedNodes){
+			if(PointsToPreferences.isArrayComponentTrackingEnabled() && arrayReadReferences.contains(node)){
+				unindexArrayReadReference(node);
+			}
+			if(PointsToPreferences.isFieldSensitivityEnabled() && fieldAccessIndex.isFieldReadBaseReference(node)){
+				unindexFieldReadReference(node);
+			}
+			if(dynamicCallsiteThisSet.contains(node) && liveNodes.contains(node)){
+				// every runtime type of the callsite has to be dispatched again
+				Edge identityPassedToEdge = dfInvokeThisGraph.edges(node, NodeDirection.OUT).one();
+				if(identityPassedToEdge != null){
+					resolvedReceiverTypes.remove(identityPassedToEdge.to());
+				}
+			}
+			invalidate(node);
+		}
+		
+		// reset the memory models the affected nodes may have written to
+		PrimitiveIterator.OfInt dirtyArrays = dirtyArrayAddresses.iterator();
+		while(dirtyArrays.hasNext()){
+			int arrayAddress = dirtyArrays.nextInt();
+			if(arrayMemoryModel.containsKey(arrayAddress)){
+				arrayMemoryModel.put(arrayAddress, newArrayMemoryModel(arrayAddress));
+			}
+		}
+		for(Node field : dirtyFieldAddresses.keySet()){
+			PrimitiveIterator.OfInt objectAddresses = dirtyFieldAddresses.get(field).iterator();
+			while(objectAddresses.hasNext()){
+				CompactHashMap<Node,PointsToSet> fields = fieldMemoryModel.get(objectAddresses.nextInt());
+				if(fields != null){
+					fields.remove(field);
+				}
+			}
+		}
+		
+		// forget the addresses of removed instantiations and keep the addresses of the others
+		CompactHashMap<Node,Integer> instantiationAddresses = new CompactHashMap<Node,Integer>();
+		for(Integer address : new ArrayList<Integer>(addressToInstantiation.keySet())){
+			Node instantiation = addressToInstantiation.get(address);
+			if(address.equals(NULL_TYPE_ADDRESS)){
+				continue;
+			}
+			if(!liveNodes.contains(instantiation)){
+				addressToInstantiation.remove(address);
+				addressToType.remove(address);
+				arrayMemoryModel.remove(address);
+				arrayDimensionAddresses.remove(address);
+				arrayAddressToReadReferences.remove(address);
+				fieldMemoryModel.remove(address);
+				objectAddressToFieldReadReferences.remove(address);
+			} else if(!addressFactory.isClone(address)){
+				// the top array dimension is addressed first
+				Integer instantiationAddress = instantiationAddresses.get(instantiation);
+				if(instantiationAddress == null || address < instantiationAddress){
+					instantiationAddresses.put(instantiation, address);
+				}
+			}
+		}
+		
+		// replace the data flow edges of the invalid nodes with the current data flow edges of the changed nodes
+		AtlasSet<Edge> invalidEdges = new AtlasHashSet<Edge>();
+		for(Node node : invalidNodes){
+			invalidEdges.addAll(dfGraph.edges(node, NodeDirection.BOTH));
+		}
+		HashSet<Object> invalidCallsiteIds = new HashSet<Object>();
+		for(Edge invalidEdge : invalidEdges){
+			dfEdges.remove(invalidEdge);
+			releaseEdge(invalidEdge);
+			if(invalidEdge.hasAttr(Attr.Edge.CALL_SITE_ID)){
+				invalidCallsiteIds.add(invalidEdge.getAttr(Attr.Edge.CALL_SITE_ID));
+			}
+		}
+		for(Node node : invalidNodes){
+			if(!liveNodes.contains(node)){
+				dfNodes.remove(node);
+				releaseNode(node);
+			}
+		}
+		Q conservativeDF = AnalysisUtilities.getConservativeDataFlow(monitor);
+		Q changedDataFlowNodes = Common.toQ(changedNodes);
+		Graph changedDF = conservativeDF.forwardStep(changedDataFlowNodes).union(conservativeDF.reverseStep(changedDataFlowNodes)).eval();
+		dfNodes.addAll(changedDF.nodes());
+		dfEdges.addAll(changedDF.edges());
+		if(PointsToPreferences.isFieldSensitivityEnabled()){
+			fieldAccessIndex = new FieldAccessIndex(conservativeDF.eval(), monitor);
+			for(Edge fieldDataFlowEdge : fieldAccessIndex.getFieldDataFlowEdges()){
+				dfEdges.remove(fieldDataFlowEdge);
+			}
+		}
+		dfGraph = new UncheckedGraph(dfNodes, dfEdges);
+		
+		// index the current program graph
+		indexProgramGraph();
+		if(contexts != null){
+			containsGraph = Common.resolve(monitor, Query.universe().edges(XCSG.Contains)).eval();
+			containingMethods.clear();
+		}
+		Q changedFunctions = Common.toQ(changed).nodes(XCSG.Function);
+		AtlasSet<Node> changedTypes = Common.toQ(changed).nodes(XCSG.Type).union(Query.universe().edges(XCSG.Contains).predecessors(changedFunctions).nodes(XCSG.Type)).eval().nodes();
+		if(!changedTypes.isEmpty()){
+			subtypes.refresh(monitor);
+			typeFilters.clearMasks();
+		}
+		
+		// callsites that lost dispatch edges or whose runtime types may now dispatch to changed methods are dispatched again
+		for(Node callsite : new ArrayList<Node>(resolvedReceiverTypes.keySet())){
+			if(!liveNodes.contains(callsite)){
+				resolvedReceiverTypes.remove(callsite);
+			} else if(invalidCallsiteIds.contains(callsite.getAttr(Attr.Node.CALL_SITE_ID)) || mayDispatchTo(resolvedReceiverTypes.get(callsite), changedTypes)){
+				resolvedReceiverTypes.remove(callsite);
+				for(Edge identityPassedToEdge : dfInvokeThisGraph.edges(callsite, NodeDirection.IN)){
+					Node callsiteThis = identityPassedToEdge.from();
+					if(!affectedNodes.contains(callsiteThis)){
+						resolveDynamicDispatches(callsiteThis);
+					}
+				}
+			}
+		}
+		
+		// re-seed the affected nodes that remain in the program graph
+		Node nullType = addressToType.get(NULL_TYPE_ADDRESS);
+		for(Node node : affectedNodes){
+			if(!liveNodes.contains(node)){
+				continue;
+			}
+			if(isInstantiation(node)){
+				Integer address = instantiationAddresses.get(node);
+				if(nullType.equals(statedType(node))){
+					address = NULL_TYPE_ADDRESS;
+				}
+				if(address != null){
+					addAddress(node, address);
+					frontier.add(node);
+				} else {
+					seedInstantiation(node, nullType);
+				}
+			}
+			
+			// predecessors that were not invalidated still hold the points-to information they propagated
+			for(Edge edge : dfGraph.edges(node, NodeDirection.IN)){
+				Node predecessor = edge.from();
+				if(!affectedNodes.contains(predecessor)){
+					repropagate(predecessor);
+					frontier.add(predecessor);
+				}
+			}
+			
+			// array reads read the array memory models of their array references again
+			if(PointsToPreferences.isArrayComponentTrackingEnabled() && node.taggedWith(XCSG.ArrayRead)){
+				for(Node arrayReadReference : arrayAccessIndex.getArrayReferences(node)){
+					if(!affectedNodes.contains(arrayReadReference)){
+						processNewAddresses(arrayReadReference);
+					}
+				}
+			}
+			
+			// field reads read the field memory models of their base references again
+			if(PointsToPreferences.isFieldSensitivityEnabled()){
+				if(fieldAccessIndex.isFieldReadBaseReference(node)){
+					indexFieldReadReference(node);
+				}
+				readFieldMemoryModels(node);
+			}
+		}
+		
+		// rebuild the discarded memory models from the writes that were not invalidated
+		if(PointsToPreferences.isArrayComponentTrackingEnabled() && !dirtyArrayAddresses.isEmpty()){
+			for(Node arrayReference : arrayReferences){
+				if(!affectedNodes.contains(arrayReference) && containsAny(getPointsToSet(arrayReference), dirtyArrayAddresses)){
+					for(Node arrayWrite : arrayAccessIndex.getArrayWriteAccesses(arrayReference)){
+						if(!affectedNodes.contains(arrayWrite)){
+							updateArrayMemoryModels(arrayWrite);
+						}
+					}
+				}
+			}
+		}
+		if(PointsToPreferences.isFieldSensitivityEnabled()){
+			for(Node field : dirtyFieldAddresses.keySet()){
+				for(Node fieldWrite : fieldAccessIndex.getFieldWrites(field)){
+					if(!affectedNodes.contains(fieldWrite)){
+						updateFieldMemoryModels(fieldWrite, getPointsToSet(fieldWrite));
+					}
+				}
+			}
+		}
+		
+		// propagate the re-seeded points-to information to a new fixed point
+		propagate();
+	}
+	
+	/**
+	 * Returns the nodes whose points-to sets may depend on the given invalid
+	 * nodes, including the invalid nodes themselves. Points-to information
+	 * flows from a node to its data flow successors, to the nodes sharing its
+	 * points-to set and, through the memory models of the objects its
+	 * references point to, from array and field writes to the matching reads.
+	 * The array addresses and the object addresses of each field whose memory
+	 * models may depend on the invalid nodes are collected as dirty.
+	 * 
+	 * @param invalidNodes
+	 * @param dirtyArrayAddresses
+	 * @param dirtyFieldAddresses
+	 * @return
+	 */
+	private AtlasSet<Node> computeAffectedNodes(AtlasSet<Node> invalidNodes, PointsToSet dirtyArrayAddresses, CompactHashMap<Node,PointsToSet> dirtyFieldAddresses) {
+		AtlasSet<Node> affectedNodes = new AtlasHashSet<Node>();
+		LinkedList<Node> worklist = new LinkedList<Node>();
+		for(Node invalidNode : invalidNodes){
+			if(affectedNodes.add(invalidNode)){
+				worklist.add(invalidNode);
+			}
+		}
+		while(!worklist.isEmpty()){
+			Node node = worklist.removeFirst();
+			AtlasSet<Node> successors = getCollapsedMembers(node);
+			for(Edge edge : dfGraph.edges(node, NodeDirection.OUT)){
+				successors.add(edge.to());
+			}
+			
+			if(PointsToPreferences.isArrayComponentTrackingEnabled()){
+				// the values an array write wrote to the arrays its array references point to may be gone
+				List<Node> arrayWrites = node.taggedWith(XCSG.ArrayWrite) ? Collections.singletonList(node) : arrayAccessIndex.getArrayWriteAccesses(node);
+				for(Node arrayWrite : arrayWrites){
+					for(Node arrayWriteReference : arrayAccessIndex.getArrayReferences(arrayWrite)){
+						PrimitiveIterator.OfInt arrayAddresses = getPointsToSet(arrayWriteReference).iterator();
+						while(arrayAddresses.hasNext()){
+							int arrayAddress = arrayAddresses.nextInt();
+							AtlasSet<Node> readReferences = arrayAddressToReadReferences.get(arrayAddress);
+							if(dirtyArrayAddresses.add(arrayAddress) && readReferences != null){
+								for(Node arrayReadReference : readReferences){
+									successors.addAll(arrayAccessIndex.getArrayReadAccesses(arrayReadReference));
+								}
+							}
+						}
+					}
+				}
+				
+				// an array read reference may no longer point to the arrays its array reads read from
+				successors.addAll(arrayAccessIndex.getArrayReadAccesses(node));
+			}
+			
+			if(PointsToPreferences.isFieldSensitivityEnabled()){
+				// the values a field write wrote to the objects its base references point to may be gone
+				AtlasSet<Node> fieldWrites = new AtlasHashSet<Node>(fieldAccessIndex.getBaseFieldWrites(node));
+				if(fieldAccessIndex.isFieldWrite(node)){
+					fieldWrites.add(node);
+				}
+				for(Node fieldWrite : fieldWrites){
+					for(Node field : fieldAccessIndex.getWrittenFields(fieldWrite)){
+						successors.add(field);
+						PointsToSet dirtyObjectAddresses = dirtyFieldAddresses.get(field);
+						if(dirtyObjectAddresses == null){
+							dirtyObjectAddresses = newPointsToSet();
+							dirtyFieldAddresses.put(field, dirtyObjectAddresses);
+						}
+						for(Node fieldWriteReference : fieldAccessIndex.getBaseReferences(fieldWrite)){
+							PrimitiveIterator.OfInt objectAddresses = getPointsToSet(fieldWriteReference).iterator();
+							while(objectAddresses.hasNext()){
+								int objectAddress = objectAddresses.nextInt();
+								AtlasSet<Node> readReferences = objectAddressToFieldReadReferences.get(objectAddress);
+								if(dirtyObjectAddresses.add(objectAddress) && readReferences != null){
+									for(Node fieldReadReference : readReferences){
+										for(Node fieldRead : fieldAccessIndex.getBaseFieldReads(fieldReadReference)){
+											if(fieldAccessIndex.getReadFields(fieldRead).contains(field)){
+												successors.add(fieldRead);
+											}
+										}
+									}
+								}
+							}
+						}
+					}
+				}
+				
+				// a base reference may no longer point to the objects its field reads read from
+				successors.addAll(fieldAccessIndex.getBaseFieldReads(node));
+			}
+			
+			for(Node successor : successors){
+				if(affectedNodes.add(successor)){
+					worklist.add(successor);
+				}
+			}
+		}
+		return affectedNodes;
+	}
+	
+	/**
+	 * Returns true if a dispatch on one of the given runtime types may resolve
+	 * to a method of one of the given types
+	 * 
+	 * @param runtimeTypes
+	 * @param types
+	 * @return
+	 */
+	private boolean mayDispatchTo(AtlasSet<Node> runtimeTypes, AtlasSet<Node> types){
+		for(Node runtimeType : runtimeTypes){
+			if(runtimeType == null){
+				continue;
+			}
+			for(Node type : types){
+				if(subtypes.isSubtypeOf(runtimeType, type)){
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns true if any of the given candidate addresses is in the given
+	 * addresses
+	 * 
+	 * @param addresses
+	 * @param candidates
+	 * @return
+	 */
+	private boolean containsAny(PointsToSet addresses, PointsToSet candidates){
+		PrimitiveIterator.OfInt iterator = candidates.iterator();
+		while(iterator.hasNext()){
+			if(addresses.contains(iterator.nextInt())){
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns true if the given node is seeded with an address of its own
+	 * 
+	 * @param node
+	 * @return
+	 */
+	private boolean isInstantiation(Node node){
+		if(node.taggedWith(XCSG.Instantiation) || node.taggedWith(XCSG.ArrayInstantiation)){
+			return true;
+		}
+		return PointsToPreferences.isTrackPrimitivesEnabled() && node.taggedWith(XCSG.Literal);
+	}
+	
+	/**
+	 * Creates the graphs and sets for resolving dynamic dispatches and
+	 * performing array analysis from the current program graph
+	 */
+	private void indexProgramGraph() {
+		// create graphs and sets for resolving dynamic dispatches
+		dynamicCallsiteThisSet = AnalysisUtilities.getDynamicCallsiteThisSet(monitor);
+		dfInvokeThisGraph = Common.resolve(monitor, Query.universe().edges(XCSG.IdentityPassedTo)).eval();
+		methodSignatureGraph = Common.resolve(monitor, Query.universe().edges(XCSG.InvokedFunction, XCSG.InvokedSignature)).eval();
+		dispatchIndex = new DispatchIndex(monitor);
+		
 		// create graphs for performing array analysis
 		Q arrayAccess = Query.universe().nodes(XCSG.ArrayAccess);
 		Q arrayIdentityFor = Query.universe().edges(XCSG.ArrayIdentityFor);
-		AtlasSet<Node> arrayReferences = arrayIdentityFor.predecessors(arrayAccess).eval().nodes();
+		arrayReferences = arrayIdentityFor.predecessors(arrayAccess).eval().nodes();
+		arrayReadReferences = arrayIdentityFor.predecessors(Query.universe().nodes(XCSG.ArrayRead)).eval().nodes();
+		if(PointsToPreferences.isArrayComponentTrackingEnabled()){
+			arrayAccessIndex = new ArrayAccessIndex(monitor);
+		}
+	}
+	
+	/**
+	 * Propagates the points-to information of the nodes in the frontier until
+	 * a fixed point is reached
+	 */
+	private void propagate() {
+		// order the frontier by the topological rank of the data flow graph
+		if(frontier instanceof WaveFrontier){
+			((WaveFrontier<Node>) frontier).setRanks(computeWaveRanks(dfGraph));
+			waveRanksStale = false;
+		}
 		
-		// iteratively propagate points-to information until a fixed point is reached
 		long iteration = 0;
 		while(frontier.hasNext()){
+			// resolved dispatches add data flow edges, so rerank the graph before the next wave starts
+			if(waveRanksStale && frontier instanceof WaveFrontier && ((WaveFrontier<Node>) frontier).isWaveComplete()){
+				((WaveFrontier<Node>) frontier).setRanks(computeWaveRanks(dfGraph));
+				waveRanksStale = false;
+			}
+			
 			if(PointsToPreferences.isGeneralLoggingEnabled() && System.currentTimeMillis()-lastUpdateTime > PointsTo.UPDATE_INTERVAL) {
 				Log.info("Propagating Points-to Sets: Iteration: " + iteration + ", Frontier Size: " + frontier.size());
 				lastUpdateTime = System.currentTimeMillis();
 			}
 			
-			// remove the next node from the frontier to start propagating type information from
-			Node from = frontier.next();
-			AtlasSet<Edge> outEdges = dfGraph.edges(from, NodeDirection.OUT);
+			if(isParallelPropagationEnabled()){
+				// remove every node from the frontier and compute their transfers concurrently
+				List<Node> batch = new ArrayList<Node>();
+				List<PointsToSet> batchAddresses = new ArrayList<PointsToSet>();
+				while(frontier.hasNext()){
+					Node next = frontier.next();
+					batch.add(next);
+					batchAddresses.add(getPropagationSet(next));
+				}
+				
+				// apply the transfers serially
+				for(Transfer transfer : computeTransfers(batch, batchAddresses, dfGraph)){
+					Edge edge = transfer.getEdge();
+					Node target = edge.to();
+					if(transfer.getAddresses() != null && transferAddresses(transfer.getAddresses(), target, null)){
+						frontier.add(target);
+						processNewAddresses(target, transfer.getAddresses());
+					}
+					if(collapseCycle(edge, dfGraph)){
+						frontier.add(edge.from());
+					}
+				}
+			} else {
+				// remove the next node from the frontier to start propagating type information from
+				Node next = frontier.next();
+				PointsToSet fromAddresses = getPropagationSet(next);
+				
+				// collapsed nodes share a points-to set, so propagate along the outgoing edges of each member
+				for(Node from : getCollapsedMembers(next)){
+					AtlasSet<Edge> outEdges = dfGraph.edges(from, NodeDirection.OUT);
 
-			// propagate points-to information aInteger each outgoing data flow edge
-			for(Edge edge : outEdges){
-				Node to = edge.to();
+					// propagate points-to information aInteger each outgoing data flow edge
+					for(Edge edge : outEdges){
+						Node target = edge.to();
 
-				// transfer type-compatible points-to information from the "from" node to the "to" node
-				if(transferTypeCompatibleAddresses(from, to)){
-					// if we transfered a new address from the "from" node to
-					// the "to" node, then add the "to" node to the frontier for
-					// the next iteration since it may have new points-to
-					// information to communicate to others
-					frontier.add(to);
-					
-					// check if we need to update the data flow graph for the next iteration
-					if(dynamicCallsiteThisSet.contains(to)){
-						// if we've just added new runtime types to a callsite
-						// "this", then add new data flow edge possibilities for
-						// any newly resolved dynamic dispatches
-						
-						// ASSERT: "this." corresponds to exactly one callsite
-						assert(dfInvokeThisGraph.edges(to, NodeDirection.OUT).size() == 1);
-						
-						// get the callsite, method signature, and runtime types
-						Node callsite = dfInvokeThisGraph.edges(to, NodeDirection.OUT).one().to();
-						Node methodSignature = methodSignatureGraph.edges(callsite, NodeDirection.OUT).one().to();
-						
-						AtlasSet<Node> runtimeTypes = new AtlasHashSet<Node>();
-						for(Integer address : getPointsToSet(to)){
-							runtimeTypes.add(addressToType.get(address));
+						// objects returned from a method are cloned for the call site they are returned to
+						PointsToSet edgeAddresses = fromAddresses;
+						if(contexts != null && from.taggedWith(XCSG.ReturnValue) && target.taggedWith(XCSG.CallSite)){
+							edgeAddresses = cloneReturnedAddresses(from, target, fromAddresses);
 						}
-						
-						// resolve any potential dynamic dispatches
-						AtlasSet<Node> resolvedDispatches = CommonQueries.dynamicDispatch(Common.toQ(runtimeTypes), Common.toQ(methodSignature)).eval().nodes();
-						AtlasSet<Node> signatureSet = AnalysisUtilities.getSignatureSet(resolvedDispatches);
-						
-						// ASSERT: only DF_INTERPROCEDURAL edges have a CALL_SITE_ID
-						// Legacy Comment: Tom says blame Jeremias if this isn't true :P
-						Address csid = (Address) callsite.getAttr(Attr.Node.CALL_SITE_ID);
-	
-						// for each resolved dispatch we need to update the data flow graph for the next iteration
-						for(Edge resolvedEdge : Graph.U.edges().filter(Attr.Edge.CALL_SITE_ID, csid)){
-							if(signatureSet.contains(resolvedEdge.to()) || signatureSet.contains(resolvedEdge.from())){
-								// add the edge and update the node sets if the edge doesn't already exist in the graph
-								if(dfEdges.add(resolvedEdge)){
-									// add node endpoints for the edge to graph to keep graph well-formed
-									Node dest = resolvedEdge.to();
-									Node origin = resolvedEdge.from();
-									dfNodes.add(dest);
-									dfNodes.add(origin);
-									
-									// technically we don't have to update the dfGraph reference because updating the dfNodes and dfEdges
-									// sets has already changed the dfGraph because UncheckedGraph does not make copies.  This was done
-									// for readability and as a guard in case the Atlas implementation changes in the future
-									dfGraph = new UncheckedGraph(dfNodes, dfEdges);
-									
-									// if edge is between two object references and the origin has type
-									// information that the dest does not have, add origin to the frontier
-									HashSet<Integer> originAddresses = getPointsToSet(origin);
-									HashSet<Integer> destAddresses = getPointsToSet(dest);
-									if(!destAddresses.containsAll(originAddresses)){
-										frontier.add(origin);
-									}
-								}
-							}
-						}
-					}
-					
-					// if we hit an array write, new values need to be added to the array memory model
-					if(PointsToPreferences.isArrayComponentTrackingEnabled() && to.tags().contains(XCSG.ArrayWrite)){
-						// "to" node is an array write so propagate addresses
-						// from array write to the corresponding array reads
-						updateArrayMemoryModels(to);
-					} 
-					
-					if(PointsToPreferences.isArrayComponentTrackingEnabled() && arrayReferences.contains(to)){
-						// "to" node is an array write reference, so it may be possible to transfer 
-						// new addresses of array values from new array writes to corresponding array 
-						// reads or array writes to new array reads, reads will be added to the frontier
-						// if new information is available to propagate
-						for(Node arrayWrite : AnalysisUtilities.getArrayWriteAccessesForArrayReference(to)){
-							updateArrayMemoryModels(arrayWrite);
+
+						// transfer type-compatible points-to information from the "from" node to the "to" node
+						if(transferTypeCompatibleAddresses(edgeAddresses, target)){
+							// if we transfered a new address from the "from" node to
+							// the "to" node, then add the "to" node to the frontier for
+							// the next iteration since it may have new points-to
+							// information to communicate to others
+							frontier.add(target);
+							processNewAddresses(target, edgeAddresses);
 						}
 						
-						// "to" node is an array read reference, so we may need to read out values of
-						// the array memory model and propagate them onward by adding the array reads
-						// to the frontier
-						for(Node arrayRead : AnalysisUtilities.getArrayReadAccessesForArrayReference(to)){
-							for(Integer arrayReferenceAddress : getPointsToSet(to)){
-								try {
-									HashSet<Integer> arrayMemoryModelAddresses = arrayMemoryModel.get(arrayReferenceAddress);
-									if(getPointsToSet(arrayRead).addAll(arrayMemoryModelAddresses)){
-										for(Integer arrayMemorymodelAddress : arrayMemoryModelAddresses) {
-											serializeAlias(arrayRead, arrayMemorymodelAddress);
-										}
-										frontier.add(arrayRead);
-									}
-								} catch (Exception e){
-									// TODO: this case is known to occur when a reference is casted to an array type
-									// there should be a better way to deal with this in place of skipping it and moving on
-									// also skipping this case will likely cause a null alias warning later
-									Log.warning("Points-to set does not exist for array read: " + arrayRead.address().toAddressString());
-								}
-							}
+						// if the edge closed a cycle the members now share a points-to set that needs to be propagated
+						if(collapseCycle(edge, dfGraph)){
+							frontier.add(from);
 						}
 					}
 				}
@@ -507,7 +965,13 @@ public class JimplePointsTo extends PointsTo {
 			iteration++;
 		}
 		
-		if(PointsToPreferences.isCollapsingSCCsEnabled()) dfGraph = expandSCCs(dfGraph);
+		if(contexts != null && PointsToPreferences.isGeneralLoggingEnabled()) {
+			Log.info("Cloned " + addressFactory.getCloneCount() + " addresses in " + contexts.size() + " call site contexts");
+		}
+		
+		if(frontier instanceof WaveFrontier && PointsToPreferences.isGeneralLoggingEnabled()) {
+			Log.info("Propagated Points-to Sets in " + ((WaveFrontier<Node>) frontier).getWaves() + " waves");
+		}
 	}
 	
 	/**
@@ -551,36 +1015,296 @@ public class JimplePointsTo extends PointsTo {
 	}
 	
 	/**
-	 * Transfers type-compatible addresses from a data flow node to a data flow
-	 * node. An address is compatible if the address's stated type exists in the
-	 * subtype hierarchy of the data flow node that points-to information is
-	 * being transfered to.
+	 * Updates the data flow graph and array memory models after new
+	 * points-to information has been transfered to a data flow node. Every
+	 * node sharing the points-to set of the node has the new information.
+	 * 
+	 * @param target Data flow node that received new addresses
+	 */
+	private void processNewAddresses(Node target){
+		processNewAddresses(target, getPointsToSet(target));
+	}
+	
+	/**
+	 * Updates the data flow graph and memory models after new points-to
+	 * information has been transfered to a data flow node. The given addresses
+	 * must include every address that is new to the node, addresses the node
+	 * does not point to are ignored.
+	 * 
+	 * @param target Data flow node that received new addresses
+	 * @param newAddresses The addresses that were transfered to the node
+	 */
+	private void processNewAddresses(Node target, PointsToSet newAddresses){
+		for(Node to : getCollapsedMembers(target)){
+			// check if we need to update the data flow graph for the next iteration
+			if(dynamicCallsiteThisSet.contains(to)){
+				// if we've just added new runtime types to a callsite
+				// "this", then add new data flow edge possibilities for
+				// any newly resolved dynamic dispatches
+				resolveDynamicDispatches(to);
+			}
+	
+			// if we hit an array write, new values need to be added to the array memory model
+			if(PointsToPreferences.isArrayComponentTrackingEnabled() && to.tags().contains(XCSG.ArrayWrite)){
+				// "to" node is an array write so propagate addresses
+				// from array write to the corresponding array reads
+				updateArrayMemoryModels(to);
+			} 
+	
+			if(PointsToPreferences.isArrayComponentTrackingEnabled() && arrayReferences.contains(to)){
+				// "to" node may be an array read reference that now observes new array addresses
+				if(arrayReadReferences.contains(to)){
+					indexArrayReadReference(to);
+				}
+		
+				// "to" node is an array write reference, so it may be possible to transfer 
+				// new addresses of array values from new array writes to corresponding array 
+				// reads or array writes to new array reads, reads will be added to the frontier
+				// if new information is available to propagate
+				for(Node arrayWrite : arrayAccessIndex.getArrayWriteAccesses(to)){
+					updateArrayMemoryModels(arrayWrite);
+				}
+		
+				// "to" node is an array read reference, so we may need to read out values of
+				// the array memory model and propagate them onward by adding the array reads
+				// to the frontier
+				AtlasSet<Node> updatedArrayReads = new AtlasHashSet<Node>();
+				for(Node arrayRead : arrayAccessIndex.getArrayReadAccesses(to)){
+					PrimitiveIterator.OfInt arrayReferenceAddresses = getPointsToSet(to).iterator();
+					while(arrayReferenceAddresses.hasNext()){
+						int arrayReferenceAddress = arrayReferenceAddresses.nextInt();
+						try {
+							PointsToSet arrayMemoryModelAddresses = arrayMemoryModel.get(arrayReferenceAddress);
+							if(transferAddresses(arrayMemoryModelAddresses, arrayRead, null)){
+								frontier.add(arrayRead);
+								updatedArrayReads.add(arrayRead);
+							}
+						} catch (Exception e){
+							// TODO: this case is known to occur when a reference is casted to an array type
+							// there should be a better way to deal with this in place of skipping it and moving on
+							// also skipping this case will likely cause a null alias warning later
+							Log.warning("Points-to set does not exist for array read: " + arrayRead.address().toAddressString());
+						}
+					}
+				}
+				
+				// the array reads are processed after reading the memory models, since an
+				// array read may itself be an array reference (a[i][j]) that has to be indexed
+				for(Node arrayRead : updatedArrayReads){
+					processNewAddresses(arrayRead);
+				}
+			}
+			
+			if(PointsToPreferences.isFieldSensitivityEnabled()){
+				// if we hit a field write, only the new values need to be added to the field memory model
+				if(fieldAccessIndex.isFieldWrite(to)){
+					updateFieldMemoryModels(to, newAddresses);
+				}
+				
+				// "to" node is a base reference of field accesses, so it may point to new
+				// objects whose fields its field writes write to and its field reads read from
+				if(fieldAccessIndex.isBaseReference(to)){
+					if(fieldAccessIndex.isFieldReadBaseReference(to)){
+						indexFieldReadReference(to);
+					}
+					for(Node fieldWrite : fieldAccessIndex.getBaseFieldWrites(to)){
+						updateFieldMemoryModels(fieldWrite, getPointsToSet(fieldWrite));
+					}
+					for(Node fieldRead : fieldAccessIndex.getBaseFieldReads(to)){
+						readFieldMemoryModels(fieldRead);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Adds the data flow edges of any newly resolved dynamic dispatches of the
+	 * callsite of the given callsite "this" node to the data flow graph. Each
+	 * callsite remembers the runtime types it has already resolved, so only
+	 * newly arrived runtime types are dispatched.
+	 * 
+	 * @param callsiteThis Callsite "this" node that received new addresses
+	 */
+	private void resolveDynamicDispatches(Node callsiteThis){
+		// ASSERT: "this." corresponds to exactly one callsite
+		assert(dfInvokeThisGraph.edges(callsiteThis, NodeDirection.OUT).size() == 1);
+		
+		// get the callsite, method signature, and new runtime types
+		Node callsite = dfInvokeThisGraph.edges(callsiteThis, NodeDirection.OUT).one().to();
+		Node methodSignature = methodSignatureGraph.edges(callsite, NodeDirection.OUT).one().to();
+		
+		// only runtime types that have not already been resolved at this callsite can add new dispatches
+		AtlasSet<Node> resolvedTypes = resolvedReceiverTypes.get(callsite);
+		if(resolvedTypes == null){
+			resolvedTypes = new AtlasHashSet<Node>();
+			resolvedReceiverTypes.put(callsite, resolvedTypes);
+		}
+		AtlasSet<Node> runtimeTypes = new AtlasHashSet<Node>();
+		PrimitiveIterator.OfInt addresses = getPointsToSet(callsiteThis).iterator();
+		while(addresses.hasNext()){
+			Node runtimeType = addressToType.get(addresses.nextInt());
+			if(resolvedTypes.add(runtimeType)){
+				runtimeTypes.add(runtimeType);
+			}
+		}
+		if(runtimeTypes.isEmpty()){
+			return;
+		}
+		
+		// resolve any potential dynamic dispatches
+		AtlasSet<Node> signatureSet = new AtlasHashSet<Node>();
+		for(Node runtimeType : runtimeTypes){
+			for(Node resolvedDispatch : dispatchIndex.getDispatchTargets(runtimeType, methodSignature)){
+				signatureSet.addAll(dispatchIndex.getSignatureNodes(resolvedDispatch));
+			}
+		}
+		
+		// ASSERT: only DF_INTERPROCEDURAL edges have a CALL_SITE_ID
+		// Legacy Comment: Tom says blame Jeremias if this isn't true :P
+		Address csid = (Address) callsite.getAttr(Attr.Node.CALL_SITE_ID);
+		
+		// for each resolved dispatch we need to update the data flow graph for the next iteration
+		for(Edge resolvedEdge : dispatchIndex.getCallsiteEdges(csid)){
+			if(signatureSet.contains(resolvedEdge.to()) || signatureSet.contains(resolvedEdge.from())){
+				// add the edge and update the node sets if the edge doesn't already exist in the graph
+				if(dfEdges.add(resolvedEdge)){
+					// add node endpoints for the edge to graph to keep graph well-formed
+					Node dest = resolvedEdge.to();
+					Node origin = resolvedEdge.from();
+					dfNodes.add(dest);
+					dfNodes.add(origin);
+		
+					// technically we don't have to update the dfGraph reference because updating the dfNodes and dfEdges
+					// sets has already changed the dfGraph because UncheckedGraph does not make copies.  This was done
+					// for readability and as a guard in case the Atlas implementation changes in the future
+					dfGraph = new UncheckedGraph(dfNodes, dfEdges);
+					waveRanksStale = true;
+		
+					// if edge is between two object references and the origin has type
+					// information that the dest does not have, add origin to the frontier
+					PointsToSet originAddresses = getPointsToSet(origin);
+					PointsToSet destAddresses = getPointsToSet(dest);
+					if(!destAddresses.containsAll(originAddresses)){
+						// the new edge has not seen any of the origin's addresses yet
+						repropagate(origin);
+						frontier.add(origin);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns the addresses returned from a method to the given call site. An
+	 * object allocated in the returning method (or last returned into it) is
+	 * replaced by its clone for the call site, whose context is the call site
+	 * prepended to the context of the object and limited to k call sites.
+	 * Other addresses are returned unchanged.
 	 * 
-	 * @param from Data flow node to transfer addresses from
+	 * @param returnValue
+	 * @param callsite
+	 * @param addresses
+	 * @return
+	 */
+	private PointsToSet cloneReturnedAddresses(Node returnValue, Node callsite, PointsToSet addresses){
+		Node method = getContainingMethod(returnValue);
+		if(method == null){
+			return addresses;
+		}
+		int callsiteId = getNodeIndex().getOrCreateId(callsite);
+		PointsToSet result = newPointsToSet();
+		PrimitiveIterator.OfInt iterator = addresses.iterator();
+		while(iterator.hasNext()){
+			int address = iterator.nextInt();
+			Node instantiation = addressToInstantiation.get(address);
+			if(address != NULL_TYPE_ADDRESS && instantiation != null && instantiation.taggedWith(XCSG.Instantiation)
+					&& !arrayMemoryModel.containsKey(address) && method.equals(getAllocatingMethod(address))){
+				int context = contexts.push(addressFactory.getContext(address), callsiteId);
+				int clone = addressFactory.getAddress(addressFactory.getBaseAddress(address), context);
+				if(!addressToType.containsKey(clone)){
+					Node type = addressToType.get(address);
+					addressToInstantiation.put(clone, instantiation);
+					addressToType.put(clone, type);
+					typeFilters.addAddress(clone, type);
+				}
+				result.add(clone);
+			} else {
+				result.add(address);
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Returns the method an address was allocated in, or for a cloned address
+	 * the method containing the most recent call site of its context
+	 * 
+	 * @param address
+	 * @return
+	 */
+	private Node getAllocatingMethod(int address){
+		int context = addressFactory.getContext(address);
+		if(context == ContextTable.EMPTY_CONTEXT){
+			return getContainingMethod(addressToInstantiation.get(address));
+		} else {
+			return getContainingMethod(getNodeIndex().getNode(contexts.getHead(context)));
+		}
+	}
+	
+	/**
+	 * Returns the method containing the given node or null if the node is not
+	 * contained in a method
+	 * 
+	 * @param node
+	 * @return
+	 */
+	private Node getContainingMethod(Node node){
+		if(containingMethods.containsKey(node)){
+			return containingMethods.get(node);
+		}
+		Node method = null;
+		Node parent = node;
+		while(parent != null && method == null){
+			Edge containsEdge = containsGraph.edges(parent, NodeDirection.IN).one();
+			parent = containsEdge != null ? containsEdge.from() : null;
+			if(parent != null && parent.taggedWith(XCSG.Function)){
+				method = parent;
+			}
+		}
+		containingMethods.put(node, method);
+		return method;
+	}
+	
+	@Override
+	protected PointsToSet getTypeFilter(Node to) {
+		Node toStatedType = statedType(to);
+		if(toStatedType == null){
+			return null;
+		}
+		return typeFilters.getMask(toStatedType);
+	}
+	
+	/**
+	 * Transfers type-compatible addresses to a data flow node. An address is
+	 * compatible if the address's stated type exists in the subtype hierarchy
+	 * of the data flow node that points-to information is being transfered to.
+	 * 
+	 * @param fromAddresses Addresses to transfer from
 	 * @param to Data flow node to transfer addresses to
 	 * @return Returns true iff new addresses were transfered, false otherwise
 	 */
-	private boolean transferTypeCompatibleAddresses(Node from, Node to){
-		boolean toReceivedNewAddresses = false;
-		HashSet<Integer> fromAddresses = getPointsToSet(from);
-		HashSet<Integer> toAddresses = getPointsToSet(to);		
+	private boolean transferTypeCompatibleAddresses(PointsToSet fromAddresses, Node to){
 		// need to check type compatibility
-		Node toStatedType = AnalysisUtilities.statedType(to);
+		Node toStatedType = statedType(to);
 		if(toStatedType != null){
-			// if the from type is compatible with the compatible to type set, add it
-			for(Integer fromAddress : fromAddresses){
-				Node addressType = addressToType.get(fromAddress);
-				if (subtypes.isSubtypeOf(addressType, toStatedType)) {
-					toReceivedNewAddresses |= toAddresses.add(fromAddress);
-					serializeAlias(to, fromAddress);
-				}
-			}
+			// add the from addresses that are in the compatible address mask of the to type
+			return transferAddresses(fromAddresses, to, typeFilters.getMask(toStatedType));
 		} else {
 			// DEBUG: show(Common.toQ(com.ensoftcorp.atlas.core.db.graph.Graph.U.nodes().getAt(java.lang.Integer.valueOf(<address>, 16).IntegerValue())))
 			Log.warning("No stated type during transfer for ref: " + to.address().toAddressString());
+			return false;
 		}
-		
-		return toReceivedNewAddresses;
 	}
 	
 	/**
@@ -593,25 +1317,27 @@ public class JimplePointsTo extends PointsTo {
 	 * @param arrayWrite
 	 */
 	private void updateArrayMemoryModels(Node arrayWrite) {
+		AtlasSet<Node> updatedArrayReads = new AtlasHashSet<Node>();
 		try {
 			// for each REFW corresponding to the AW
-			for(Node arrayWriteReference : AnalysisUtilities.getArrayReferencesForArrayAccess(arrayWrite)){
+			for(Node arrayWriteReference : arrayAccessIndex.getArrayReferences(arrayWrite)){
 				// for each REFW address
-				for(Integer arrayWriteReferenceAddress : getPointsToSet(arrayWriteReference)){
+				PrimitiveIterator.OfInt arrayWriteReferenceAddresses = getPointsToSet(arrayWriteReference).iterator();
+				while(arrayWriteReferenceAddresses.hasNext()){
+					int arrayWriteReferenceAddress = arrayWriteReferenceAddresses.nextInt();
 					// add the AW addresses to the the array memory values set for the array REFW address
 					if(arrayMemoryModel.get(arrayWriteReferenceAddress).addAll(getPointsToSet(arrayWrite))){
 						// if new addresses were added to the array, propagate them to the corresponding reads
-						Q allArrayReads = Query.universe().nodes(XCSG.ArrayRead);
-						Q allArrayReadReferences = Query.universe().edges(XCSG.ArrayIdentityFor).predecessors(allArrayReads);
-						for(Node arrayReadReference : allArrayReadReferences.eval().nodes()){
-							HashSet<Integer> arrayReadReferenceAddresses = getPointsToSet(arrayReadReference);
-							if(arrayReadReferenceAddresses.contains(arrayWriteReferenceAddress)){
+						AtlasSet<Node> matchingArrayReadReferences = arrayAddressToReadReferences.get(arrayWriteReferenceAddress);
+						if(matchingArrayReadReferences != null){
+							for(Node arrayReadReference : matchingArrayReadReferences){
 								// transfer addresses from AW to each AR corresponding to the REFR with a matching address
-								AtlasSet<Node> arrayReads = AnalysisUtilities.getArrayReadAccessesForArrayReference(arrayReadReference);
+								List<Node> arrayReads = arrayAccessIndex.getArrayReadAccesses(arrayReadReference);
 								for(Node arrayRead : arrayReads){
 									if(transferTypeCompatibleAddressesFromArrayMemoryModel(arrayWriteReferenceAddress, arrayRead)){
 										// if we transfered new addresses add the AR to the frontier
 										frontier.add(arrayRead);
+										updatedArrayReads.add(arrayRead);
 									}
 								}
 							}
@@ -622,6 +1348,230 @@ public class JimplePointsTo extends PointsTo {
 		} catch (NullPointerException e){
 			// TODO: aliases which propagated through casts are throwing off the array memory model logic
 		}
+		
+		// an AR may itself be an array reference (a[i][j]), a base reference or a dispatch receiver
+		for(Node arrayRead : updatedArrayReads){
+			processNewAddresses(arrayRead);
+		}
+	}
+	
+	/**
+	 * Let FW be a field write of field F, and FR be a field read of F. Let REFW
+	 * and REFR be the base references FW and FR are accessed through. For the
+	 * given FW, add the given addresses of FW to the field memory model of F
+	 * for each REFW address and propagate the values that are new to the model
+	 * to each FR whose REFR has a matching address. Addresses FW does not point
+	 * to are ignored.
+	 * 
+	 * @param fieldWrite
+	 * @param fieldWriteAddresses
+	 */
+	private void updateFieldMemoryModels(Node fieldWrite, PointsToSet fieldWriteAddresses) {
+		PointsToSet mask = getPointsToSet(fieldWrite);
+		if(mask == fieldWriteAddresses){
+			mask = null;
+		}
+		CompactHashMap<Node,PointsToSet> fieldReadAddresses = new CompactHashMap<Node,PointsToSet>();
+		for(Node field : fieldAccessIndex.getWrittenFields(fieldWrite)){
+			// the field node still summarizes the values of the field for every object
+			// and propagates them along the field data flow edges of accesses without a base reference
+			if(transferAddresses(fieldWriteAddresses, field, mask)){
+				frontier.add(field);
+			}
+			
+			// for each REFW address
+			for(Node fieldWriteReference : fieldAccessIndex.getBaseReferences(fieldWrite)){
+				PrimitiveIterator.OfInt objectAddresses = getPointsToSet(fieldWriteReference).iterator();
+				while(objectAddresses.hasNext()){
+					int objectAddress = objectAddresses.nextInt();
+					PointsToSet fieldValueAddresses = getFieldMemoryModel(objectAddress, field);
+					PointsToSet newFieldValueAddresses = newPointsToSet();
+					if(fieldValueAddresses.addAll(fieldWriteAddresses, mask, newFieldValueAddresses)){
+						// if new addresses were added to the field of the object, propagate them to the reads
+						// of the field through a REFR with a matching address
+						AtlasSet<Node> readReferences = objectAddressToFieldReadReferences.get(objectAddress);
+						if(readReferences != null){
+							for(Node fieldReadReference : readReferences){
+								for(Node fieldRead : fieldAccessIndex.getBaseFieldReads(fieldReadReference)){
+									if(fieldAccessIndex.getReadFields(fieldRead).contains(field)){
+										addFieldReadAddresses(fieldReadAddresses, fieldRead, newFieldValueAddresses);
+									}
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+		
+		// the reads are updated after the memory models, since a read may be a base reference of other accesses
+		transferFieldReadAddresses(fieldReadAddresses);
+	}
+	
+	/**
+	 * Transfers the field memory model values of each object the base
+	 * references of the given field read point to, to the field read
+	 * 
+	 * @param fieldRead
+	 */
+	private void readFieldMemoryModels(Node fieldRead) {
+		CompactHashMap<Node,PointsToSet> fieldReadAddresses = new CompactHashMap<Node,PointsToSet>();
+		for(Node field : fieldAccessIndex.getReadFields(fieldRead)){
+			for(Node fieldReadReference : fieldAccessIndex.getBaseReferences(fieldRead)){
+				PrimitiveIterator.OfInt objectAddresses = getPointsToSet(fieldReadReference).iterator();
+				while(objectAddresses.hasNext()){
+					CompactHashMap<Node,PointsToSet> fields = fieldMemoryModel.get(objectAddresses.nextInt());
+					if(fields != null){
+						PointsToSet fieldValueAddresses = fields.get(field);
+						if(fieldValueAddresses != null){
+							addFieldReadAddresses(fieldReadAddresses, fieldRead, fieldValueAddresses);
+						}
+					}
+				}
+			}
+		}
+		transferFieldReadAddresses(fieldReadAddresses);
+	}
+	
+	/**
+	 * Collects the given field memory model values for the given field read
+	 * 
+	 * @param fieldReadAddresses
+	 * @param fieldRead
+	 * @param fieldValueAddresses
+	 */
+	private void addFieldReadAddresses(CompactHashMap<Node,PointsToSet> fieldReadAddresses, Node fieldRead, PointsToSet fieldValueAddresses) {
+		PointsToSet addresses = fieldReadAddresses.get(fieldRead);
+		if(addresses == null){
+			addresses = newPointsToSet();
+			fieldReadAddresses.put(fieldRead, addresses);
+		}
+		addresses.addAll(fieldValueAddresses);
+	}
+	
+	/**
+	 * Transfers the collected field memory model values to each field read.
+	 * A field read that receives new addresses is processed like any other
+	 * data flow node, since it may be a base reference, an array reference or
+	 * a dynamic dispatch receiver itself.
+	 * 
+	 * @param fieldReadAddresses
+	 */
+	private void transferFieldReadAddresses(CompactHashMap<Node,PointsToSet> fieldReadAddresses) {
+		for(Node fieldRead : fieldReadAddresses.keySet()){
+			PointsToSet addresses = fieldReadAddresses.get(fieldRead);
+			if(transferTypeCompatibleAddresses(addresses, fieldRead)){
+				frontier.add(fieldRead);
+				processNewAddresses(fieldRead, addresses);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the addresses of the values of the given field of the object
+	 * with the given address, creating an empty set if none exists
+	 * 
+	 * @param objectAddress
+	 * @param field
+	 * @return
+	 */
+	private PointsToSet getFieldMemoryModel(int objectAddress, Node field) {
+		CompactHashMap<Node,PointsToSet> fields = fieldMemoryModel.get(objectAddress);
+		if(fields == null){
+			fields = new CompactHashMap<Node,PointsToSet>();
+			fieldMemoryModel.put(objectAddress, fields);
+		}
+		PointsToSet fieldValueAddresses = fields.get(field);
+		if(fieldValueAddresses == null){
+			fieldValueAddresses = newPointsToSet();
+			fields.put(field, fieldValueAddresses);
+		}
+		return fieldValueAddresses;
+	}
+	
+	/**
+	 * Records the given array read reference as a reference that points to
+	 * each address in its points-to set
+	 * 
+	 * @param arrayReadReference
+	 */
+	private void indexArrayReadReference(Node arrayReadReference) {
+		PrimitiveIterator.OfInt addresses = getPointsToSet(arrayReadReference).iterator();
+		while(addresses.hasNext()){
+			int address = addresses.nextInt();
+			AtlasSet<Node> readReferences = arrayAddressToReadReferences.get(address);
+			if(readReferences == null){
+				readReferences = new AtlasHashSet<Node>();
+				arrayAddressToReadReferences.put(address, readReferences);
+			}
+			readReferences.add(arrayReadReference);
+		}
+	}
+	
+	/**
+	 * Removes the given array read reference from the array read references
+	 * of each address in its points-to set
+	 * 
+	 * @param arrayReadReference
+	 */
+	private void unindexArrayReadReference(Node arrayReadReference) {
+		PrimitiveIterator.OfInt addresses = getPointsToSet(arrayReadReference).iterator();
+		while(addresses.hasNext()){
+			AtlasSet<Node> readReferences = arrayAddressToReadReferences.get(addresses.nextInt());
+			if(readReferences != null){
+				readReferences.remove(arrayReadReference);
+			}
+		}
+	}
+	
+	/**
+	 * Records the given field read base reference as a reference that points
+	 * to each object address in its points-to set
+	 * 
+	 * @param fieldReadReference
+	 */
+	private void indexFieldReadReference(Node fieldReadReference) {
+		PrimitiveIterator.OfInt addresses = getPointsToSet(fieldReadReference).iterator();
+		while(addresses.hasNext()){
+			int address = addresses.nextInt();
+			AtlasSet<Node> readReferences = objectAddressToFieldReadReferences.get(address);
+			if(readReferences == null){
+				readReferences = new AtlasHashSet<Node>();
+				objectAddressToFieldReadReferences.put(address, readReferences);
+			}
+			readReferences.add(fieldReadReference);
+		}
+	}
+	
+	/**
+	 * Removes the given field read base reference from the field read base
+	 * references of each object address in its points-to set
+	 * 
+	 * @param fieldReadReference
+	 */
+	private void unindexFieldReadReference(Node fieldReadReference) {
+		PrimitiveIterator.OfInt addresses = getPointsToSet(fieldReadReference).iterator();
+		while(addresses.hasNext()){
+			AtlasSet<Node> readReferences = objectAddressToFieldReadReferences.get(addresses.nextInt());
+			if(readReferences != null){
+				readReferences.remove(fieldReadReference);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the initial array memory model of the given array address, the
+	 * address of the next lower array dimension or null for the lowest
+	 * dimension
+	 * 
+	 * @param arrayAddress
+	 * @return
+	 */
+	private PointsToSet newArrayMemoryModel(int arrayAddress) {
+		PointsToSet arrayValueAddresses = newPointsToSet();
+		Integer arrayDimensionAddress = arrayDimensionAddresses.get(arrayAddress);
+		arrayValueAddresses.add(arrayDimensionAddress != null ? arrayDimensionAddress : NULL_TYPE_ADDRESS);
+		return arrayValueAddresses;
 	}
 	
 	/**
@@ -633,26 +1583,17 @@ public class JimplePointsTo extends PointsTo {
 	 * @param arrayRead
 	 * @return
 	 */
-	private boolean transferTypeCompatibleAddressesFromArrayMemoryModel(Integer arrayReferenceAddress, Node arrayRead) {
-		boolean readReceivedNewAddresses = false;
-		HashSet<Integer> fromAddresses = arrayMemoryModel.get(arrayReferenceAddress);
-		HashSet<Integer> toAddresses = getPointsToSet(arrayRead);		
+	private boolean transferTypeCompatibleAddressesFromArrayMemoryModel(int arrayReferenceAddress, Node arrayRead) {
+		PointsToSet fromAddresses = arrayMemoryModel.get(arrayReferenceAddress);
 		// need to check type compatibility
-		Node toStatedType = AnalysisUtilities.statedType(arrayRead);
+		Node toStatedType = statedType(arrayRead);
 		if(toStatedType != null){
-			// if the from type is compatible with the compatible to type set, add it
-			for(Integer fromAddress : fromAddresses){
-				Node addressType = addressToType.get(fromAddress);
-				if (subtypes.isSubtypeOf(addressType, toStatedType)) {
-					readReceivedNewAddresses |= toAddresses.add(fromAddress);
-					serializeAlias(arrayRead, fromAddress);
-				}
-			}
+			// add the array memory model addresses that are in the compatible address mask of the array read type
+			return transferAddresses(fromAddresses, arrayRead, typeFilters.getMask(toStatedType));
 		} else {
 			Log.warning("No stated type during transfer for array read: " + arrayRead.address().toAddressString());
+			return false;
 		}
-		
-		return readReceivedNewAddresses;
 	}
 	
 }
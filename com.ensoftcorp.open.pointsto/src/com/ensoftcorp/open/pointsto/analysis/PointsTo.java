@@ -1,24 +1,43 @@
 package com.ensoftcorp.open.pointsto.analysis;
 
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
-import java.util.Map.Entry;
-import java.util.Set;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
 
 import com.ensoftcorp.atlas.core.db.graph.Edge;
 import com.ensoftcorp.atlas.core.db.graph.Graph;
+import com.ensoftcorp.atlas.core.db.graph.GraphElement.NodeDirection;
 import com.ensoftcorp.atlas.core.db.graph.Node;
-import com.ensoftcorp.atlas.core.db.graph.UncheckedGraph;
 import com.ensoftcorp.atlas.core.db.set.AtlasHashSet;
 import com.ensoftcorp.atlas.core.db.set.AtlasSet;
-import com.ensoftcorp.atlas.core.query.Q;
+import com.ensoftcorp.atlas.core.query.Query;
 import com.ensoftcorp.atlas.core.script.Common;
 import com.ensoftcorp.atlas.core.xcsg.XCSG;
 import com.ensoftcorp.open.commons.algorithms.StronglyConnectedComponents;
+import com.ensoftcorp.open.pointsto.common.AliasTags;
 import com.ensoftcorp.open.pointsto.common.PointsToAnalysis;
 import com.ensoftcorp.open.pointsto.log.Log;
 import com.ensoftcorp.open.pointsto.preferences.PointsToPreferences;
+import com.ensoftcorp.open.pointsto.utilities.NodeIndex;
+import com.ensoftcorp.open.pointsto.utilities.StatedTypeIndex;
+import com.ensoftcorp.open.pointsto.utilities.UnionFind;
+import com.ensoftcorp.open.pointsto.utilities.set.HashPointsToSet;
+import com.ensoftcorp.open.pointsto.utilities.set.PointsToSet;
+import com.ensoftcorp.open.pointsto.utilities.set.SparseBitSet;
 
 import net.ontopia.utils.CompactHashMap;
 
@@ -36,6 +55,124 @@ public abstract class PointsTo {
 	
 	public static final long UPDATE_INTERVAL = 5000; // 5 seconds
 	
+	/**
+	 * True if points-to sets should be stored as compressed bitsets,
+	 * false if points-to sets should be stored as hash sets
+	 */
+	private final boolean bitSetPointsToSets;
+	
+	/**
+	 * A dense index assigning each data flow node a compact id
+	 */
+	private NodeIndex nodeIndex = new NodeIndex();
+	
+	/**
+	 * Side table of points-to sets indexed by node id
+	 */
+	private PointsToSet[] pointsToSets = new PointsToSet[1024];
+	
+	/**
+	 * Precomputed stated types indexed by node id, built once per analysis run
+	 */
+	private StatedTypeIndex statedTypeIndex = null;
+	
+	/**
+	 * True if only the addresses a node received since it was last processed
+	 * should be propagated to its successors
+	 */
+	private final boolean differencePropagation;
+	
+	/**
+	 * Side table of the addresses each node has received since it was last
+	 * processed, indexed by node id (only used with difference propagation)
+	 */
+	private PointsToSet[] deltas = new PointsToSet[1024];
+	
+	/**
+	 * True if the inverted index of addresses to the nodes that point to them
+	 * should be maintained while solving
+	 */
+	private final boolean addressIndexEnabled;
+	
+	/**
+	 * Inverted index of the representative node ids whose points-to set
+	 * contains each address, indexed by address
+	 */
+	private SparseBitSet[] addressIndex = new SparseBitSet[1024];
+	
+	/**
+	 * True if alias tags should be applied in a single pass after the fixed
+	 * point is reached instead of while solving
+	 */
+	private final boolean deferredAliasTagging;
+	
+	/**
+	 * True if cycles of same typed nodes should be detected and collapsed
+	 * while points-to information is being propagated
+	 */
+	private final boolean onlineCycleDetection;
+	
+	/**
+	 * Node ids that share a single representative points-to set
+	 */
+	private UnionFind representatives = new UnionFind();
+	
+	/**
+	 * Data flow edges that have already been checked for a cycle
+	 */
+	private AtlasSet<Edge> cycleCheckedEdges = new AtlasHashSet<Edge>();
+	
+	/**
+	 * The number of indexed nodes that incremental updates removed from the
+	 * data flow graph, their ids are not reused
+	 */
+	private int removedNodeCount = 0;
+	
+	/**
+	 * The number of threads used to compute transfers, 1 if points-to sets
+	 * are propagated serially
+	 */
+	private final int workerThreads;
+	
+	/**
+	 * The worker threads, only available while the analysis is running
+	 */
+	private ExecutorService workerPool = null;
+	
+	public PointsTo() {
+		if(PointsToPreferences.isHashSetPointsToSetMode()) {
+			bitSetPointsToSets = false;
+			if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Points-to Set Mode: Hash Set");
+		} else {
+			// default
+			bitSetPointsToSets = true;
+			if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Points-to Set Mode: Bitset");
+		}
+		differencePropagation = PointsToPreferences.isDifferencePropagationEnabled();
+		if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Difference Propagation: " + (differencePropagation ? "Enabled" : "Disabled"));
+		onlineCycleDetection = PointsToPreferences.isOnlineCycleDetectionEnabled();
+		if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Online Cycle Detection: " + (onlineCycleDetection ? "Enabled" : "Disabled"));
+		deferredAliasTagging = PointsToPreferences.isDeferredAliasTaggingEnabled();
+		if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Deferred Alias Tagging: " + (deferredAliasTagging ? "Enabled" : "Disabled"));
+		addressIndexEnabled = PointsToPreferences.isAddressIndexEnabled();
+		if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Address Index: " + (addressIndexEnabled ? "Enabled" : "Disabled"));
+		workerThreads = Math.max(1, PointsToPreferences.getWorkerThreads());
+		if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Worker Threads: " + workerThreads);
+	}
+	
+	/**
+	 * Creates a new empty points-to set using the set implementation
+	 * configured in the preferences
+	 * @return
+	 */
+	protected PointsToSet newPointsToSet() {
+		if(bitSetPointsToSets) {
+			return new SparseBitSet();
+		} else {
+			return new HashPointsToSet();
+		}
+	}
+	
 	/**
 	 * Returns true if the points-to analysis has completed
 	 * @return
@@ -44,6 +181,559 @@ public abstract class PointsTo {
 		return hasRun;
 	}
 	
+	/**
+	 * Gets or creates the points to set for a node.
+	 * Returns a reference to the points to set so that updates to the 
+	 * set will also update the set in the side table.
+	 * @param node
+	 * @return 
+	 */
+	protected PointsToSet getPointsToSet(Node node){
+		return getPointsToSet(nodeIndex.getOrCreateId(node));
+	}
+	
+	/**
+	 * Gets or creates the points to set for a node id. Nodes that have been
+	 * collapsed together share the points-to set of their representative.
+	 * @param id
+	 * @return
+	 */
+	protected PointsToSet getPointsToSet(int id){
+		id = representatives.find(id);
+		if(id >= pointsToSets.length){
+			pointsToSets = Arrays.copyOf(pointsToSets, Math.max(id + 1, pointsToSets.length * 2));
+		}
+		PointsToSet pointsToSet = pointsToSets[id];
+		if(pointsToSet == null){
+			pointsToSet = newPointsToSet();
+			pointsToSets[id] = pointsToSet;
+		}
+		return pointsToSet;
+	}
+	
+	/**
+	 * Returns the points to set for a node or null if the node
+	 * has not been assigned a points-to set
+	 * @param node
+	 * @return
+	 */
+	protected PointsToSet findPointsToSet(Node node){
+		int id = nodeIndex.getId(node);
+		if(id < 0){
+			return null;
+		}
+		id = representatives.find(id);
+		if(id >= pointsToSets.length){
+			return null;
+		}
+		return pointsToSets[id];
+	}
+	
+	/**
+	 * Adds an address to the points-to set of a node during solving, tagging
+	 * the alias and recording the address as new information to propagate
+	 * @param node
+	 * @param address
+	 * @return Returns true if the address was new to the node, false otherwise
+	 */
+	protected boolean addAddress(Node node, int address){
+		if(getPointsToSet(node).add(address)){
+			serializeAlias(node, address);
+			indexAddress(nodeIndex.getId(node), address);
+			if(differencePropagation){
+				getDelta(nodeIndex.getId(node)).add(address);
+			}
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Transfers the given addresses that are contained in the mask to the
+	 * points-to set of a node during solving. A null mask accepts every
+	 * address. Each newly added address is tagged and recorded as new
+	 * information to propagate.
+	 * @param fromAddresses
+	 * @param to
+	 * @param mask
+	 * @return Returns true iff new addresses were transfered, false otherwise
+	 */
+	protected boolean transferAddresses(PointsToSet fromAddresses, Node to, PointsToSet mask){
+		int id = nodeIndex.getOrCreateId(to);
+		PointsToSet toAddresses = getPointsToSet(id);
+		if(!differencePropagation && !addressIndexEnabled && !isTaggingAliasesWhileSolving()){
+			return toAddresses.addAll(fromAddresses, mask, null);
+		}
+		PointsToSet newAddresses = newPointsToSet();
+		if(toAddresses.addAll(fromAddresses, mask, newAddresses)){
+			if(addressIndexEnabled){
+				PrimitiveIterator.OfInt newAddressesIterator = newAddresses.iterator();
+				while(newAddressesIterator.hasNext()){
+					indexAddress(id, newAddressesIterator.nextInt());
+				}
+			}
+			if(isTaggingAliasesWhileSolving()){
+				PrimitiveIterator.OfInt newAddressesIterator = newAddresses.iterator();
+				while(newAddressesIterator.hasNext()){
+					serializeAlias(to, newAddressesIterator.nextInt());
+				}
+			}
+			if(differencePropagation){
+				getDelta(id).addAll(newAddresses);
+			}
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Adds previously solved addresses to the points-to set of a node without
+	 * scheduling them for propagation, for instance when restoring results
+	 * @param node
+	 * @param addresses
+	 * @return Returns the number of addresses that were new to the node
+	 */
+	protected int restoreAddresses(Node node, PointsToSet addresses){
+		int id = nodeIndex.getOrCreateId(node);
+		PointsToSet pointsToSet = getPointsToSet(id);
+		int restored = 0;
+		PrimitiveIterator.OfInt addressesIterator = addresses.iterator();
+		while(addressesIterator.hasNext()){
+			int address = addressesIterator.nextInt();
+			if(pointsToSet.add(address)){
+				serializeAlias(node, address);
+				indexAddress(id, address);
+				restored++;
+			}
+		}
+		return restored;
+	}
+	
+	/**
+	 * Records that the points-to set of the given node id contains the given
+	 * address in the inverted address index
+	 * @param id
+	 * @param address
+	 */
+	private void indexAddress(int id, int address){
+		if(addressIndexEnabled){
+			if(address >= addressIndex.length){
+				addressIndex = Arrays.copyOf(addressIndex, Math.max(address + 1, addressIndex.length * 2));
+			}
+			SparseBitSet ids = addressIndex[address];
+			if(ids == null){
+				ids = new SparseBitSet();
+				addressIndex[address] = ids;
+			}
+			ids.add(representatives.find(id));
+		}
+	}
+	
+	/**
+	 * Removes a representative id from the inverted address index entries of
+	 * the given addresses
+	 * @param representative
+	 * @param addresses
+	 */
+	private void unindexAddresses(int representative, PointsToSet addresses){
+		if(addressIndexEnabled && addresses != null){
+			PrimitiveIterator.OfInt addressesIterator = addresses.iterator();
+			while(addressesIterator.hasNext()){
+				int address = addressesIterator.nextInt();
+				if(address < addressIndex.length && addressIndex[address] != null){
+					addressIndex[address].remove(representative);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns the addresses a node should propagate to its successors when it
+	 * is removed from the frontier. With difference propagation this is only
+	 * the addresses received since the node was last processed (which are then
+	 * cleared), otherwise it is the node's entire points-to set.
+	 * @param node
+	 * @return
+	 */
+	protected PointsToSet getPropagationSet(Node node){
+		int id = nodeIndex.getOrCreateId(node);
+		if(!differencePropagation){
+			return getPointsToSet(id);
+		}
+		PointsToSet delta = getDelta(id);
+		deltas[representatives.find(id)] = null;
+		return delta;
+	}
+	
+	/**
+	 * Schedules the entire points-to set of a node to be propagated the next
+	 * time it is processed, for instance after a new outgoing data flow edge
+	 * has been discovered
+	 * @param node
+	 */
+	protected void repropagate(Node node){
+		if(differencePropagation){
+			int id = nodeIndex.getOrCreateId(node);
+			getDelta(id).addAll(getPointsToSet(id));
+		}
+	}
+	
+	private PointsToSet getDelta(int id){
+		id = representatives.find(id);
+		if(id >= deltas.length){
+			deltas = Arrays.copyOf(deltas, Math.max(id + 1, deltas.length * 2));
+		}
+		PointsToSet delta = deltas[id];
+		if(delta == null){
+			delta = newPointsToSet();
+			deltas[id] = delta;
+		}
+		return delta;
+	}
+	
+	/**
+	 * Returns true if transfers should be computed by parallel worker threads
+	 * @return
+	 */
+	protected boolean isParallelPropagationEnabled(){
+		return workerPool != null;
+	}
+	
+	/**
+	 * Returns the mask of addresses that may be transfered to the given node,
+	 * or null if the node's stated type is unknown. Must be safe to call from
+	 * multiple worker threads.
+	 * @param to
+	 * @return
+	 */
+	protected abstract PointsToSet getTypeFilter(Node to);
+	
+	/**
+	 * A transfer of addresses along a data flow edge computed by a worker
+	 * thread that has not been applied yet
+	 */
+	protected static class Transfer {
+		private final Edge edge;
+		private final PointsToSet addresses;
+		
+		public Transfer(Edge edge, PointsToSet addresses){
+			this.edge = edge;
+			this.addresses = addresses;
+		}
+		
+		/**
+		 * The data flow edge to transfer along
+		 * @return
+		 */
+		public Edge getEdge(){
+			return edge;
+		}
+		
+		/**
+		 * The type-compatible addresses that are new to the edge's
+		 * destination, or null if there are none
+		 * @return
+		 */
+		public PointsToSet getAddresses(){
+			return addresses;
+		}
+	}
+	
+	/**
+	 * Computes the transfers along the outgoing data flow edges of a batch of
+	 * frontier nodes using the worker threads. Workers only read points-to
+	 * sets and the data flow graph, so the returned transfers must be applied
+	 * by the caller on the solver thread, where all updates to points-to sets,
+	 * alias tags and the data flow graph are serialized.
+	 * 
+	 * @param nodes The nodes removed from the frontier
+	 * @param nodeAddresses The propagation set of each node
+	 * @param dfGraph The current data flow graph
+	 * @return
+	 */
+	protected List<Transfer> computeTransfers(final List<Node> nodes, final List<PointsToSet> nodeAddresses, final Graph dfGraph){
+		final AtomicInteger nextIndex = new AtomicInteger(0);
+		List<Future<List<Transfer>>> results = new ArrayList<Future<List<Transfer>>>(workerThreads);
+		for(int i=0; i<workerThreads; i++){
+			results.add(workerPool.submit(new Callable<List<Transfer>>(){
+				@Override
+				public List<Transfer> call() throws Exception {
+					List<Transfer> transfers = new ArrayList<Transfer>();
+					int index;
+					while((index = nextIndex.getAndIncrement()) < nodes.size()){
+						PointsToSet fromAddresses = nodeAddresses.get(index);
+						for(Node from : getCollapsedMembers(nodes.get(index))){
+							for(Edge edge : dfGraph.edges(from, NodeDirection.OUT)){
+								PointsToSet newAddresses = computeNewAddresses(fromAddresses, edge.to());
+								// cycle detection needs to see every edge that was propagated along
+								if(newAddresses != null || onlineCycleDetection){
+									transfers.add(new Transfer(edge, newAddresses));
+								}
+							}
+						}
+					}
+					return transfers;
+				}
+			}));
+		}
+		List<Transfer> transfers = new ArrayList<Transfer>();
+		for(Future<List<Transfer>> result : results){
+			try {
+				transfers.addAll(result.get());
+			} catch (InterruptedException | ExecutionException e) {
+				throw new RuntimeException("Parallel points-to propagation failed.", e);
+			}
+		}
+		return transfers;
+	}
+	
+	/**
+	 * Returns the addresses that are type-compatible with the given node
+	 * but are not yet in its points-to set, or null if there are none. Does
+	 * not modify any points-to sets.
+	 * @param fromAddresses
+	 * @param to
+	 * @return
+	 */
+	private PointsToSet computeNewAddresses(PointsToSet fromAddresses, Node to){
+		PointsToSet mask = getTypeFilter(to);
+		if(mask == null){
+			Log.warning("No stated type during transfer for ref: " + to.address().toAddressString());
+			return null;
+		}
+		PointsToSet newAddresses = newPointsToSet();
+		newAddresses.addAll(fromAddresses, mask, null);
+		PointsToSet toAddresses = findPointsToSet(to);
+		if(toAddresses != null){
+			newAddresses.removeAll(toAddresses);
+		}
+		return newAddresses.isEmpty() ? null : newAddresses;
+	}
+	
+	/**
+	 * Returns the nodes that share a points-to set with the given node,
+	 * including the node itself
+	 * @param node
+	 * @return
+	 */
+	protected AtlasSet<Node> getCollapsedMembers(Node node){
+		AtlasSet<Node> members = new AtlasHashSet<Node>();
+		int id = nodeIndex.getId(node);
+		if(id < 0 || representatives.isSingleton(id)){
+			members.add(node);
+		} else {
+			for(int member : representatives.getMembers(id)){
+				members.add(nodeIndex.getNode(member));
+			}
+		}
+		return members;
+	}
+	
+	/**
+	 * Lazy cycle detection. If the points-to sets of the nodes on either side
+	 * of a data flow edge are equal after a transfer, the edge may be closing
+	 * a cycle, so the data flow graph is searched for a path back from the
+	 * edge's destination to its origin. Each edge is only checked once.
+	 * 
+	 * Only nodes with the same stated type as the origin are considered. Type
+	 * filtering never removes addresses along such a cycle, so every node on
+	 * the cycle must reach the same points-to set and collapsing them into a
+	 * single shared set does not lose precision.
+	 * 
+	 * @param edge A data flow edge that points-to information was just propagated along
+	 * @param dfGraph The current data flow graph
+	 * @return Returns true if a cycle was collapsed, false otherwise
+	 */
+	protected boolean collapseCycle(Edge edge, Graph dfGraph){
+		if(!onlineCycleDetection){
+			return false;
+		}
+		Node origin = edge.from();
+		Node dest = edge.to();
+		int originId = nodeIndex.getOrCreateId(origin);
+		int destId = nodeIndex.getOrCreateId(dest);
+		if(representatives.isSameSet(originId, destId) || !cycleCheckedEdges.add(edge)){
+			return false;
+		}
+		
+		// only sets that are equal can be on a cycle that has already been saturated
+		PointsToSet originAddresses = getPointsToSet(originId);
+		PointsToSet destAddresses = getPointsToSet(destId);
+		if(originAddresses.size() != destAddresses.size() || !destAddresses.containsAll(originAddresses)){
+			return false;
+		}
+		Node type = statedType(origin);
+		if(type == null || !type.equals(statedType(dest))){
+			return false;
+		}
+		
+		// find the same typed nodes reachable from the destination
+		AtlasSet<Node> reachable = new AtlasHashSet<Node>();
+		LinkedList<Node> stack = new LinkedList<Node>();
+		reachable.add(dest);
+		stack.push(dest);
+		while(!stack.isEmpty()){
+			Node node = stack.pop();
+			for(Edge outEdge : dfGraph.edges(node, NodeDirection.OUT)){
+				Node successor = outEdge.to();
+				if(type.equals(statedType(successor)) && reachable.add(successor)){
+					stack.push(successor);
+				}
+			}
+		}
+		if(!reachable.contains(origin)){
+			return false;
+		}
+		
+		// the cycle is made of the reachable nodes that can reach back to the origin
+		AtlasSet<Node> cycle = new AtlasHashSet<Node>();
+		cycle.add(origin);
+		stack.push(origin);
+		while(!stack.isEmpty()){
+			Node node = stack.pop();
+			for(Edge inEdge : dfGraph.edges(node, NodeDirection.IN)){
+				Node predecessor = inEdge.from();
+				if(reachable.contains(predecessor) && cycle.add(predecessor)){
+					stack.push(predecessor);
+				}
+			}
+		}
+		
+		for(Node member : cycle){
+			merge(originId, nodeIndex.getOrCreateId(member));
+		}
+		
+		// the members may not have seen each other's addresses yet
+		repropagate(origin);
+		
+		if(PointsToPreferences.isGeneralLoggingEnabled() && System.currentTimeMillis()-lastUpdateTime > PointsTo.UPDATE_INTERVAL) {
+			Log.info("Collapsed cycle of " + cycle.size() + " nodes, " + representatives.getUnionCount() + " nodes merged so far");
+			lastUpdateTime = System.currentTimeMillis();
+		}
+		return true;
+	}
+	
+	/**
+	 * Merges the points-to sets of two nodes into a single shared set
+	 * @param id1
+	 * @param id2
+	 */
+	private void merge(int id1, int id2){
+		int root1 = representatives.find(id1);
+		int root2 = representatives.find(id2);
+		if(root1 == root2){
+			return;
+		}
+		PointsToSet addresses1 = getPointsToSet(root1);
+		PointsToSet addresses2 = getPointsToSet(root2);
+		PointsToSet delta1 = root1 < deltas.length ? deltas[root1] : null;
+		PointsToSet delta2 = root2 < deltas.length ? deltas[root2] : null;
+		int root = representatives.union(root1, root2);
+		int merged = root == root1 ? root2 : root1;
+		
+		// keep the representative's set and drop the merged set
+		PointsToSet mergedAddresses = root == root1 ? addresses2 : addresses1;
+		unindexAddresses(merged, mergedAddresses);
+		if(root == root1){
+			addresses1.addAll(addresses2);
+		} else {
+			addresses2.addAll(addresses1);
+		}
+		if(addressIndexEnabled){
+			PrimitiveIterator.OfInt mergedAddressesIterator = mergedAddresses.iterator();
+			while(mergedAddressesIterator.hasNext()){
+				indexAddress(root, mergedAddressesIterator.nextInt());
+			}
+		}
+		pointsToSets[merged] = null;
+		if(delta1 != null || delta2 != null){
+			PointsToSet delta = getDelta(root);
+			if(delta1 != null) delta.addAll(delta1);
+			if(delta2 != null) delta.addAll(delta2);
+			if(merged < deltas.length) deltas[merged] = null;
+		}
+	}
+	
+	/**
+	 * Tags every collapsed node with the aliases of its shared points-to set.
+	 * During propagation only the node that received new addresses is tagged.
+	 */
+	private void tagCollapsedMembers(){
+		if(!isTaggingAliasesWhileSolving() || representatives.getUnionCount() == 0){
+			return;
+		}
+		int size = nodeIndex.size();
+		for(int id=0; id<size; id++){
+			if(!representatives.isSingleton(id)){
+				Node node = nodeIndex.getNode(id);
+				PrimitiveIterator.OfInt addresses = getPointsToSet(id).iterator();
+				while(addresses.hasNext()){
+					serializeAlias(node, addresses.nextInt());
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns true if alias tags are applied as addresses are added to
+	 * points-to sets while solving
+	 * @return
+	 */
+	private boolean isTaggingAliasesWhileSolving(){
+		return PointsToPreferences.isTagAliasesEnabled() && !deferredAliasTagging;
+	}
+	
+	/**
+	 * Tags every node with the aliases of its final points-to set in a single
+	 * pass after the fixed point is reached (deferred alias tagging). Alias
+	 * tag strings are interned and aliases a node is already tagged with are
+	 * skipped.
+	 */
+	private void tagAliases(){
+		if(!PointsToPreferences.isTagAliasesEnabled()){
+			return;
+		}
+		long numAliasTags = 0;
+		int size = nodeIndex.size();
+		for(int id=0; id<size; id++){
+			int representative = representatives.find(id);
+			if(representative >= pointsToSets.length || pointsToSets[representative] == null){
+				continue;
+			}
+			Node node = nodeIndex.getNode(id);
+			PrimitiveIterator.OfInt addresses = pointsToSets[representative].iterator();
+			while(addresses.hasNext()){
+				String aliasTag = AliasTags.getAliasTag(addresses.nextInt());
+				if(!node.taggedWith(aliasTag)){
+					node.tag(aliasTag);
+					numAliasTags++;
+				}
+			}
+		}
+		if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Applied " + numAliasTags + " deferred alias tags");
+	}
+	
+	/**
+	 * Given an object reference, return the stated type of that reference.
+	 * Uses the precomputed stated type index when the analysis is running.
+	 * @param node
+	 * @return
+	 */
+	protected Node statedType(Node node){
+		if(statedTypeIndex == null){
+			statedTypeIndex = new StatedTypeIndex(nodeIndex, new NullProgressMonitor());
+		}
+		return statedTypeIndex.getStatedType(node);
+	}
+	
+	/**
+	 * Returns the node index used to assign node ids
+	 * @return
+	 */
+	protected NodeIndex getNodeIndex(){
+		return nodeIndex;
+	}
+	
 	/**
 	 * Runs the points to analysis (if it hasn't been run already)
 	 * and returns the time in milliseconds to complete the analysis
@@ -58,37 +748,176 @@ public abstract class PointsTo {
 		} else {
 			Log.info("Starting " + getClass().getSimpleName() + " points-to analysis");
 			long start = System.nanoTime();
-			runAnalysis();
-			long stop = System.nanoTime();
-			DecimalFormat decimalFormat = new DecimalFormat("#.##");
-			double time = (stop - start)/1000.0/1000.0; // ms
-			if(time < 100) {
-				Log.info("Finished " + getClass().getSimpleName() + " points-to analysis in " + decimalFormat.format(time) + "ms");
+			if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Indexing stated types...");
+			statedTypeIndex = new StatedTypeIndex(nodeIndex, new NullProgressMonitor());
+			startWorkers();
+			try {
+				runAnalysis();
+			} finally {
+				stopWorkers();
+			}
+			if(deferredAliasTagging){
+				tagAliases();
 			} else {
-				time = (stop - start)/1000.0/1000.0/1000.0; // s
-				if(time < 60) {
-					Log.info("Finished " + getClass().getSimpleName() + " points-to analysis in " + decimalFormat.format(time) + "s");
-				} else {
-					time = (stop - start)/1000.0/1000.0/1000.0/60.0; // m
-					if(time < 60) {
-						Log.info("Finished " + getClass().getSimpleName() + " points-to analysis in " + decimalFormat.format(time) + "m");
-					} else {
-						time = (stop - start)/1000.0/1000.0/1000.0/60.0/60.0; // h
-						Log.info("Finished " + getClass().getSimpleName() + " points-to analysis in " + decimalFormat.format(time) + "h");
-					}
-				}
+				tagCollapsedMembers();
 			}
+			if(representatives.getUnionCount() > 0 && PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Merged " + representatives.getUnionCount() + " nodes into shared points-to sets");
+			double time = logDuration("Finished " + getClass().getSimpleName() + " points-to analysis in ", start);
 			
 			hasRun = true;
 			return time;
 		}
 	}
 	
+	/**
+	 * Incrementally updates the results of a completed points-to analysis
+	 * after the given functions or types were added or modified, and returns
+	 * the time in milliseconds to complete the update. Data flow nodes that
+	 * are no longer in the program graph are treated as removed. Only the part
+	 * of the data flow graph that may observe the changes is re-solved, the
+	 * rest of the solved state is kept. Runs the analysis if it has not been
+	 * run yet.
+	 * @param changed The added or modified functions and types
+	 * @return
+	 */
+	public double update(AtlasSet<Node> changed){
+		if(isDisposed){
+			throw new RuntimeException("Points-to analysis was disposed.");
+		}
+		if(!hasRun){
+			return run();
+		}
+		Log.info("Updating " + getClass().getSimpleName() + " points-to analysis");
+		long start = System.nanoTime();
+		AtlasSet<Node> changedNodes = Common.resolve(new NullProgressMonitor(), Query.universe().edges(XCSG.Contains).forward(Common.toQ(changed)).nodes(XCSG.DataFlow_Node)).eval().nodes();
+		if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Indexing stated types...");
+		statedTypeIndex = new StatedTypeIndex(nodeIndex, new NullProgressMonitor());
+		startWorkers();
+		try {
+			updateAnalysis(changed, changedNodes);
+		} finally {
+			stopWorkers();
+		}
+		if(deferredAliasTagging){
+			tagAliases();
+		} else {
+			tagCollapsedMembers();
+		}
+		return logDuration("Finished updating " + getClass().getSimpleName() + " points-to analysis in ", start);
+	}
+	
+	/**
+	 * Discards the points-to set of a node and its alias tags so the node can
+	 * be re-solved by an incremental update. Nodes that share the points-to set
+	 * of the node lose their points-to set as well and should be discarded too.
+	 * @param node
+	 */
+	protected void invalidate(Node node){
+		int id = nodeIndex.getId(node);
+		if(id >= 0){
+			int representative = representatives.find(id);
+			if(representative < pointsToSets.length){
+				unindexAddresses(representative, pointsToSets[representative]);
+				pointsToSets[representative] = null;
+			}
+			if(representative < deltas.length){
+				deltas[representative] = null;
+			}
+		}
+		if(PointsToPreferences.isTagAliasesEnabled()){
+			for(String aliasTag : PointsToAnalysis.getAliasTags(node)){
+				node.untag(aliasTag);
+			}
+		}
+	}
+	
+	/**
+	 * Records that a data flow node was removed from the program graph by an
+	 * incremental update. The node should have been invalidated. Its id stays
+	 * allocated until the analysis is run again from scratch.
+	 * @param node
+	 */
+	protected void releaseNode(Node node){
+		if(nodeIndex.getId(node) >= 0){
+			removedNodeCount++;
+		}
+	}
+	
+	/**
+	 * Forgets a data flow edge that was removed from the data flow graph by an
+	 * incremental update
+	 * @param edge
+	 */
+	protected void releaseEdge(Edge edge){
+		cycleCheckedEdges.remove(edge);
+	}
+	
+	/**
+	 * Returns true if most of the indexed nodes were removed from the program
+	 * graph by incremental updates, in which case running a new analysis
+	 * releases their state and is cheaper to keep than updating this one
+	 * @return
+	 */
+	public boolean hasExcessRemovedNodes(){
+		return removedNodeCount > nodeIndex.size() / 2;
+	}
+	
+	private void startWorkers(){
+		if(workerThreads > 1){
+			workerPool = Executors.newFixedThreadPool(workerThreads);
+		}
+	}
+	
+	private void stopWorkers(){
+		if(workerPool != null){
+			workerPool.shutdownNow();
+			workerPool = null;
+		}
+	}
+	
+	/**
+	 * Logs the given message followed by the time elapsed since the given
+	 * start time and returns the elapsed time in the logged unit
+	 * @param message
+	 * @param start
+	 * @return
+	 */
+	private double logDuration(String message, long start){
+		long stop = System.nanoTime();
+		DecimalFormat decimalFormat = new DecimalFormat("#.##");
+		double time = (stop - start)/1000.0/1000.0; // ms
+		if(time < 100) {
+			Log.info(message + decimalFormat.format(time) + "ms");
+		} else {
+			time = (stop - start)/1000.0/1000.0/1000.0; // s
+			if(time < 60) {
+				Log.info(message + decimalFormat.format(time) + "s");
+			} else {
+				time = (stop - start)/1000.0/1000.0/1000.0/60.0; // m
+				if(time < 60) {
+					Log.info(message + decimalFormat.format(time) + "m");
+				} else {
+					time = (stop - start)/1000.0/1000.0/1000.0/60.0/60.0; // h
+					Log.info(message + decimalFormat.format(time) + "h");
+				}
+			}
+		}
+		return time;
+	}
+	
 	/**
 	 * Runs the fixed-point points-to analysis algorithm
 	 */
 	protected abstract void runAnalysis();
 	
+	/**
+	 * Invalidates the points-to information that may be affected by the given
+	 * changed functions and types and re-solves it to a fixed point
+	 * @param changed The added or modified functions and types
+	 * @param changedNodes The data flow nodes contained in the changed functions and types
+	 */
+	protected abstract void updateAnalysis(AtlasSet<Node> changed, AtlasSet<Node> changedNodes);
+	
 	/**
 	 * Returns the mapping of arrays to the array's components
 	 * @return
@@ -113,19 +942,64 @@ public abstract class PointsTo {
 	 * @param node
 	 * @return
 	 */
-	public abstract HashSet<Integer> getAliasAddresses(Node node);
+	public HashSet<Integer> getAliasAddresses(Node node){
+		if(isDisposed){
+			throw new RuntimeException("Points-to analysis was disposed.");
+		}
+		PointsToSet pointsToSet = findPointsToSet(node);
+		if(pointsToSet == null){
+			return new HashSet<Integer>();
+		}
+		return pointsToSet.toHashSet();
+	}
 	
 	/**
-	 * Removes an alias address from the alias set
+	 * Returns the points-to set of the given node without copying it, or an
+	 * empty set if the node has no points-to set. Nodes in a collapsed cycle
+	 * return the same set. The returned set must not be modified.
 	 * @param node
+	 * @return
 	 */
-	public abstract void addAliasAddress(Node node, Integer address);
+	public PointsToSet getAliasAddressSet(Node node){
+		if(isDisposed){
+			throw new RuntimeException("Points-to analysis was disposed.");
+		}
+		PointsToSet pointsToSet = findPointsToSet(node);
+		if(pointsToSet == null){
+			return newPointsToSet();
+		}
+		return pointsToSet;
+	}
 	
 	/**
 	 * Adds an alias address to the alias set
 	 * @param node
 	 */
-	public abstract void removeAliasAddress(Node node, Integer address);
+	public void addAliasAddress(Node node, Integer address){
+		if(isDisposed){
+			throw new RuntimeException("Points-to analysis was disposed.");
+		}
+		if(getPointsToSet(node).add(address)){
+			indexAddress(nodeIndex.getId(node), address);
+		}
+	}
+	
+	/**
+	 * Removes an alias address from the alias set
+	 * @param node
+	 */
+	public void removeAliasAddress(Node node, Integer address){
+		if(isDisposed){
+			throw new RuntimeException("Points-to analysis was disposed.");
+		}
+		PointsToSet pointsToSet = findPointsToSet(node);
+		if(pointsToSet != null && pointsToSet.remove(address) && addressIndexEnabled){
+			int representative = representatives.find(nodeIndex.getId(node));
+			if(address < addressIndex.length && addressIndex[address] != null){
+				addressIndex[address].remove(representative);
+			}
+		}
+	}
 	
 	/**
 	 * Returns the mapping of an address to its corresponding instantiation
@@ -143,7 +1017,53 @@ public abstract class PointsTo {
 	 * Returns a set of all addressed nodes
 	 * @return
 	 */
-	public abstract AtlasSet<Node> getAddressedNodes();
+	public AtlasSet<Node> getAddressedNodes(){
+		if(isDisposed){
+			throw new RuntimeException("Points-to analysis was disposed.");
+		}
+		AtlasSet<Node> addressedNodes = new AtlasHashSet<Node>();
+		int size = nodeIndex.size();
+		for(int id=0; id<size; id++){
+			int representative = representatives.find(id);
+			if(representative < pointsToSets.length && pointsToSets[representative] != null){
+				addressedNodes.add(nodeIndex.getNode(id));
+			}
+		}
+		return addressedNodes;
+	}
+	
+	/**
+	 * Returns the nodes whose points-to set contains the given address. Uses
+	 * the inverted address index if it is enabled, otherwise every points-to
+	 * set is checked.
+	 * @param address
+	 * @return
+	 */
+	public AtlasSet<Node> getAddressedNodes(Integer address){
+		if(isDisposed){
+			throw new RuntimeException("Points-to analysis was disposed.");
+		}
+		AtlasSet<Node> addressedNodes = new AtlasHashSet<Node>();
+		if(addressIndexEnabled){
+			if(address >= 0 && address < addressIndex.length && addressIndex[address] != null){
+				PrimitiveIterator.OfInt representativeIds = addressIndex[address].iterator();
+				while(representativeIds.hasNext()){
+					for(int id : representatives.getMembers(representativeIds.nextInt())){
+						addressedNodes.add(nodeIndex.getNode(id));
+					}
+				}
+			}
+		} else {
+			int size = nodeIndex.size();
+			for(int id=0; id<size; id++){
+				int representative = representatives.find(id);
+				if(representative < pointsToSets.length && pointsToSets[representative] != null && pointsToSets[representative].contains(address)){
+					addressedNodes.add(nodeIndex.getNode(id));
+				}
+			}
+		}
+		return addressedNodes;
+	}
 	
 	/**
 	 * Returns the inferred data flow graph as the results of the fixed point analysis
@@ -158,162 +1078,164 @@ public abstract class PointsTo {
 	/**
 	 * Signals that the points to analysis results no longer need to be maintained by the analysis
 	 */
-	public abstract void dispose();
+	public void dispose(){
+		if(isDisposed){
+			throw new RuntimeException("Points-to analysis was disposed.");
+		}
+		isDisposed = true;
+		// drop the side tables
+		pointsToSets = null;
+		deltas = null;
+		addressIndex = null;
+		representatives = null;
+		cycleCheckedEdges = null;
+		nodeIndex = null;
+		statedTypeIndex = null;
+	}
 	
 	/**
 	 * Helper method to consistently convert integer based addresses to alias tags
+	 * Does nothing when alias tagging is deferred until after solving
 	 * @param addressedObject
 	 * @param address
 	 */
-	protected void serializeAlias(Node addressedObject, Integer address) {
-		if(PointsToPreferences.isTagAliasesEnabled()){
-			if(address == 0){
-				addressedObject.tag(PointsToAnalysis.NULL_ALIAS);
-			} else {
-				addressedObject.tag(PointsToAnalysis.ALIAS_PREFIX + address);
-			}
+	protected void serializeAlias(Node addressedObject, int address) {
+		if(isTaggingAliasesWhileSolving()){
+			addressedObject.tag(AliasTags.getAliasTag(address));
 		}
 	}
 	
-	private static final String MERGE_SCC_NODE = "MERGE_SCC_NODE";
-	private static final String MERGE_SCC_EDGE = "MERGE_SCC_EDGE";
-	private CompactHashMap<Node,AtlasSet<Node>> collapsedNodes = new CompactHashMap<Node,AtlasSet<Node>>();
-	private AtlasSet<Edge> collapsedEdges = new AtlasHashSet<Edge>();
+	/**
+	 * Computes a topological rank for each node of the data flow graph for
+	 * wave propagation. All nodes of a strongly connected component share a
+	 * rank, and the rank of a component is lower than the rank of every
+	 * component it flows to.
+	 * 
+	 * @param dfGraph
+	 * @return
+	 */
+	protected Map<Node,Integer> computeWaveRanks(Graph dfGraph) {
+		AtlasSet<Node> nodes = dfGraph.nodes();
+		for(Node node : nodes){
+			nodeIndex.getOrCreateId(node);
+		}
+		int size = nodeIndex.size();
+		
+		// iterative Tarjan's algorithm over node ids, components are completed in reverse topological order
+		int[] dfsIndexes = new int[size];
+		int[] lowLinks = new int[size];
+		boolean[] onStack = new boolean[size];
+		int[] components = new int[size];
+		int[] componentStack = new int[size];
+		int[] callStack = new int[size];
+		@SuppressWarnings("unchecked")
+		Iterator<Edge>[] successors = new Iterator[size];
+		int counter = 0;
+		int componentCount = 0;
+		int componentTop = 0;
+		int callTop = 0;
+		for(Node root : nodes){
+			int rootId = nodeIndex.getId(root);
+			if(dfsIndexes[rootId] != 0){
+				continue;
+			}
+			dfsIndexes[rootId] = lowLinks[rootId] = ++counter;
+			componentStack[componentTop++] = rootId;
+			onStack[rootId] = true;
+			callStack[callTop] = rootId;
+			successors[callTop++] = dfGraph.edges(root, NodeDirection.OUT).iterator();
+			while(callTop > 0){
+				int id = callStack[callTop-1];
+				Iterator<Edge> iterator = successors[callTop-1];
+				if(iterator.hasNext()){
+					Node successor = iterator.next().to();
+					int successorId = nodeIndex.getId(successor);
+					if(successorId < 0 || successorId >= size){
+						continue;
+					}
+					if(dfsIndexes[successorId] == 0){
+						dfsIndexes[successorId] = lowLinks[successorId] = ++counter;
+						componentStack[componentTop++] = successorId;
+						onStack[successorId] = true;
+						callStack[callTop] = successorId;
+						successors[callTop++] = dfGraph.edges(successor, NodeDirection.OUT).iterator();
+					} else if(onStack[successorId]){
+						lowLinks[id] = Math.min(lowLinks[id], dfsIndexes[successorId]);
+					}
+				} else {
+					successors[--callTop] = null;
+					if(callTop > 0){
+						int parent = callStack[callTop-1];
+						lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[id]);
+					}
+					if(lowLinks[id] == dfsIndexes[id]){
+						int member;
+						do {
+							member = componentStack[--componentTop];
+							onStack[member] = false;
+							components[member] = componentCount;
+						} while(member != id);
+						componentCount++;
+					}
+				}
+			}
+		}
+		
+		// sources are ranked before sinks
+		CompactHashMap<Node,Integer> ranks = new CompactHashMap<Node,Integer>();
+		for(Node node : nodes){
+			ranks.put(node, componentCount - 1 - components[nodeIndex.getId(node)]);
+		}
+		if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Ranked " + ranks.size() + " data flow nodes in " + componentCount + " components");
+		return ranks;
+	}
 	
-	protected Graph collapseSCCs(Graph dfGraph) {
+	/**
+	 * Collapses each strongly connected component of the data flow graph so
+	 * that every member of the component shares a single representative
+	 * points-to set. The data flow graph itself is left unchanged and since
+	 * the members are tagged with the shared aliases once the analysis
+	 * completes, there is nothing to expand afterwards.
+	 * 
+	 * Note: members of a component may have different stated types, so the
+	 * shared set may be less precise than the individual sets would have been.
+	 * 
+	 * @param dfGraph
+	 */
+	protected void collapseSCCs(Graph dfGraph) {
 		if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Computing SCCs...");
 		StronglyConnectedComponents sccs = new StronglyConnectedComponents(dfGraph);
-		int sccGroupID = 1;
+		long collapsedSCCCounter = 0;
 		long collapsedNodeCounter = 0;
-		long collapsedEdgeCounter = 0;
 		double progress = 0;
 		List<AtlasHashSet<Node>> sccList = sccs.findSCCs(false);
 		double total = sccList.size();
 		
-		AtlasSet<Node> dfNodes = new AtlasHashSet<Node>(dfGraph.nodes());
-		AtlasSet<Edge> dfEdges = new AtlasHashSet<Edge>(dfGraph.edges());
-		
 		for(AtlasHashSet<Node> scc : sccList){
 			if(PointsToPreferences.isGeneralLoggingEnabled() && System.currentTimeMillis()-lastUpdateTime > PointsTo.UPDATE_INTERVAL) {
 				Log.info("Collapsing SCCs: (" + new DecimalFormat("#.##").format((progress / total) * 100.0) + " %) " 
-						+ String.format("Collapsed %s SCCs (elliding %s nodes and %s edges)", (sccGroupID-1), collapsedNodeCounter, collapsedEdgeCounter));
+						+ String.format("Collapsed %s SCCs (%s nodes)", collapsedSCCCounter, collapsedNodeCounter));
 				lastUpdateTime = System.currentTimeMillis();
 			}
 			
 			if(scc.size() > 1) {
-				// create a new merge node
-				Node mergeNode = Graph.U.createNode();
-				mergeNode.putAttr(XCSG.name, "SCC_" + (sccGroupID++));
-				mergeNode.tag(MERGE_SCC_NODE);
-				collapsedNodes.put(mergeNode, scc);
-				collapsedNodeCounter += scc.size();
-				
-				// get the edges in and out of the scc
-				Q dfg = Common.toQ(dfGraph);
-				Q component = Common.toQ(scc).induce(dfg);
-				AtlasSet<Edge> incomingEdges = new AtlasHashSet<Edge>(dfg.reverseStep(component).differenceEdges(component).eval().edges());
-				collapsedEdgeCounter += incomingEdges.size();
-				
-				AtlasSet<Edge> outgoingEdges = new AtlasHashSet<Edge>(dfg.forwardStep(component).differenceEdges(component).eval().edges());
-				collapsedEdgeCounter += outgoingEdges.size();
-				
-				// create new merged edges going into the merge node
-				// just need to know what edges will be removed and where to add merge edges
-				AtlasSet<Node> fromNodes = new AtlasHashSet<Node>();
-				for(Edge incomingEdge : incomingEdges) {
-					fromNodes.add(incomingEdge.from());
-					collapsedEdges.add(incomingEdge);
-				}
-				AtlasSet<Edge> mergedIncomingEdges = new AtlasHashSet<Edge>();
-				for(Node from : fromNodes) {
-					Edge mergedIncomingEdge = Graph.U.createEdge(from, mergeNode);
-					mergedIncomingEdge.tag(MERGE_SCC_EDGE);
-					mergedIncomingEdges.add(mergedIncomingEdge);
-				}
-				
-				// create new merged edges going into the merge node
-				// just need to know what edges will be removed and where to add merge edges
-				AtlasSet<Node> toNodes = new AtlasHashSet<Node>();
-				for(Edge outgoingEdge : outgoingEdges) {
-					toNodes.add(outgoingEdge.to());
-					collapsedEdges.add(outgoingEdge);
-				}
-				AtlasSet<Edge> mergedOutgoingEdges = new AtlasHashSet<Edge>();
-				for(Node to : toNodes) {
-					Edge mergedOutgoingEdge = Graph.U.createEdge(to, mergeNode);
-					mergedOutgoingEdge.tag(MERGE_SCC_EDGE);
-					mergedOutgoingEdges.add(mergedOutgoingEdge);
-				}
-				
-				// remove the scc node
+				int representative = -1;
 				for(Node sccNode : scc) {
-					dfNodes.remove(sccNode);
-				}
-				
-				// remove the scc node edges
-				for(Edge sccEdge : component.eval().edges()) {
-					dfEdges.remove(sccEdge);
+					int id = nodeIndex.getOrCreateId(sccNode);
+					if(representative == -1){
+						representative = id;
+					} else {
+						merge(representative, id);
+					}
 				}
-				
-				// add the merge node
-				dfNodes.add(mergeNode);
-				
-				// add the merge node edges
-				dfEdges.addAll(mergedIncomingEdges);
-				dfEdges.addAll(mergedOutgoingEdges);
+				collapsedSCCCounter++;
+				collapsedNodeCounter += scc.size();
 			}
 			
 			// increment progress
 			progress++;
 		}
 		
-		// update the data flow graph
-		dfGraph = new UncheckedGraph(dfNodes, dfEdges);
-		
-		if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info(String.format("Collapsed %s SCCs (elliding %s nodes and %s edges)", (sccGroupID-1), collapsedNodeCounter, collapsedEdgeCounter));
-		
-		return dfGraph;
-	}
-	
-	/**
-	 * 
-	 * @param dfGraph
-	 * @return
-	 */
-	protected Graph expandSCCs(Graph dfGraph) {
-		AtlasSet<Node> dfNodes = new AtlasHashSet<Node>(dfGraph.nodes());
-		AtlasSet<Edge> dfEdges = new AtlasHashSet<Edge>(dfGraph.edges());
-
-		// add the scc nodes back to the dfg and add alias tags
-		Set<Entry<Node, AtlasSet<Node>>> entrySet = collapsedNodes.entrySet();
-		int numSCCs = entrySet.size();
-		double progress = 0;
-		for(Entry<Node,AtlasSet<Node>> entry : entrySet) {
-			if(PointsToPreferences.isGeneralLoggingEnabled() && System.currentTimeMillis()-lastUpdateTime > PointsTo.UPDATE_INTERVAL) {
-				Log.info("Expanding SCCs: (" + new DecimalFormat("#.##").format((progress / (double) numSCCs) * 100.0) + " %) of " + numSCCs + " SCCs");
-				lastUpdateTime = System.currentTimeMillis();
-			}
-			
-			Node mergeNode = entry.getKey();
-			AtlasSet<Node> scc = entry.getValue();
-			for(Node sccNode : scc) {
-				for(Integer address : this.getAliasAddresses(mergeNode)) {
-					serializeAlias(sccNode, address);
-					dfNodes.add(sccNode);
-				}
-			}
-			progress++;
-		}
-		collapsedNodes.clear();
-
-		// add the collapsed edges back to the dfg
-		dfEdges.addAll(collapsedEdges);
-		collapsedEdges.clear();
-		
-		if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info(String.format("Expanded " + numSCCs + " SCCs"));
-		
-		// update the resulting graph
-		dfGraph = new UncheckedGraph(dfNodes, dfEdges);
-		return dfGraph;
+		if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info(String.format("Collapsed %s SCCs (%s nodes)", collapsedSCCCounter, collapsedNodeCounter));
 	}
 }
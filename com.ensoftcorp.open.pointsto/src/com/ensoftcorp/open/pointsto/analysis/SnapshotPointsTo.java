@@ -0,0 +1,111 @@
+package com.ensoftcorp.open.pointsto.analysis;
+
+import java.util.HashSet;
+import java.util.Map.Entry;
+
+import com.ensoftcorp.atlas.core.db.graph.Graph;
+import com.ensoftcorp.atlas.core.db.graph.Node;
+import com.ensoftcorp.atlas.core.db.graph.UncheckedGraph;
+import com.ensoftcorp.atlas.core.db.set.AtlasSet;
+import com.ensoftcorp.open.pointsto.log.Log;
+import com.ensoftcorp.open.pointsto.preferences.PointsToPreferences;
+import com.ensoftcorp.open.pointsto.utilities.PointsToSnapshot;
+import com.ensoftcorp.open.pointsto.utilities.set.PointsToSet;
+import com.ensoftcorp.open.pointsto.utilities.set.SparseBitSet;
+
+/**
+ * A points-to analysis whose results are restored from a snapshot of an
+ * earlier analysis of the same program graph instead of being solved. Running
+ * the analysis loads the points-to sets of the snapshot and applies the alias
+ * tags. A restored analysis can not be incrementally updated.
+ *
+ * @author Ben Holland
+ */
+public class SnapshotPointsTo extends PointsTo {
+
+	private PointsToSnapshot snapshot;
+
+	public SnapshotPointsTo(PointsToSnapshot snapshot) {
+		this.snapshot = snapshot;
+	}
+
+	@Override
+	protected void runAnalysis() {
+		long numAddresses = 0;
+		for(Entry<Node,SparseBitSet> entry : snapshot.getPointsToSets().entrySet()){
+			numAddresses += restoreAddresses(entry.getKey(), entry.getValue());
+		}
+		if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Restored " + numAddresses + " addresses of " + snapshot.getPointsToSets().size() + " nodes from points-to snapshot");
+	}
+
+	@Override
+	protected void updateAnalysis(AtlasSet<Node> changed, AtlasSet<Node> changedNodes) {
+		throw new RuntimeException("Points-to analysis restored from a snapshot can not be updated.");
+	}
+
+	@Override
+	protected PointsToSet getTypeFilter(Node to) {
+		return null; // nothing is propagated
+	}
+
+	@Override
+	public HashSet<Integer> getArrayMemoryModelAliases(Integer address) {
+		if(isDisposed){
+			throw new RuntimeException("Points-to analysis was disposed.");
+		}
+		return snapshot.getArrayMemoryModels().get(address).toHashSet();
+	}
+
+	@Override
+	public HashSet<Integer> getArrayMemoryModels() {
+		if(isDisposed){
+			throw new RuntimeException("Points-to analysis was disposed.");
+		}
+		HashSet<Integer> result = new HashSet<Integer>();
+		result.addAll(snapshot.getArrayMemoryModels().keySet());
+		return result;
+	}
+
+	@Override
+	public HashSet<Integer> getAliasAddresses() {
+		if(isDisposed){
+			throw new RuntimeException("Points-to analysis was disposed.");
+		}
+		HashSet<Integer> result = new HashSet<Integer>();
+		for(int address=0; address<snapshot.getAddressCount(); address++) {
+			result.add(address);
+		}
+		return result;
+	}
+
+	@Override
+	public Node getInstantiation(Integer address) {
+		if(isDisposed){
+			throw new RuntimeException("Points-to analysis was disposed.");
+		}
+		return snapshot.getInstantiation(address);
+	}
+
+	@Override
+	public Node getType(Integer address) {
+		if(isDisposed){
+			throw new RuntimeException("Points-to analysis was disposed.");
+		}
+		return snapshot.getType(address);
+	}
+
+	@Override
+	public Graph getInferredDataFlowGraph() {
+		if(isDisposed){
+			throw new RuntimeException("Points-to analysis was disposed.");
+		}
+		return new UncheckedGraph(snapshot.getInferredDataFlowNodes(), snapshot.getInferredDataFlowEdges());
+	}
+
+	@Override
+	public void dispose(){
+		super.dispose();
+		snapshot = null;
+	}
+
+}
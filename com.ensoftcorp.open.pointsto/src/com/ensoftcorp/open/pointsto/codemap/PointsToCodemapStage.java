@@ -1,17 +1,30 @@
 package com.ensoftcorp.open.pointsto.codemap;
 
+import java.io.File;
+import java.io.IOException;
+
 import org.eclipse.core.runtime.IProgressMonitor;
 
+import com.ensoftcorp.atlas.core.db.graph.Node;
+import com.ensoftcorp.atlas.core.db.set.AtlasHashSet;
+import com.ensoftcorp.atlas.core.db.set.AtlasSet;
 import com.ensoftcorp.atlas.core.query.Query;
 import com.ensoftcorp.atlas.core.xcsg.XCSG;
 import com.ensoftcorp.open.commons.analysis.CommonQueries;
 import com.ensoftcorp.open.commons.codemap.PrioritizedCodemapStage;
+import com.ensoftcorp.open.pointsto.Activator;
+import com.ensoftcorp.open.pointsto.analysis.DemandPointsTo;
 import com.ensoftcorp.open.pointsto.analysis.JavaPointsTo;
 import com.ensoftcorp.open.pointsto.analysis.JimplePointsTo;
 import com.ensoftcorp.open.pointsto.analysis.PointsTo;
+import com.ensoftcorp.open.pointsto.analysis.SnapshotPointsTo;
+import com.ensoftcorp.open.pointsto.common.AliasOracle;
 import com.ensoftcorp.open.pointsto.log.Log;
 import com.ensoftcorp.open.pointsto.preferences.PointsToPreferences;
 import com.ensoftcorp.open.pointsto.utilities.GraphEnhancements;
+import com.ensoftcorp.open.pointsto.utilities.PointsToSnapshot;
+
+import net.ontopia.utils.CompactHashMap;
 
 /**
  * A hook for automatically running points-to analysis with the user's
@@ -23,6 +36,13 @@ public class PointsToCodemapStage extends PrioritizedCodemapStage {
 
 	public static final String IDENTIFIER = "com.ensoftcorp.open.pointsto";
 	
+	/**
+	 * The analysis kept for incremental updates and the content fingerprints
+	 * of the functions and types of the program graph it was last run on
+	 */
+	private static PointsTo retainedAnalysis = null;
+	private static CompactHashMap<Node,Long> retainedFingerprints = null;
+	
 	@Override
 	public String getDisplayName() {
 		return "Points-to Analysis";
@@ -41,18 +61,22 @@ public class PointsToCodemapStage extends PrioritizedCodemapStage {
 	@Override
 	public boolean performIndexing(IProgressMonitor monitor) {
 		boolean runIndexer = PointsToPreferences.isPointsToAnalysisEnabled();
+		
+		// the program graph was rebuilt, so demand driven queries have to start over
+		DemandPointsTo.invalidate();
+		
 		try {
 			if(runIndexer){
 				PointsTo pointsToAnalysis = null;
 				if(PointsToPreferences.isJavaPointsToAnalysisModeEnabled()){
 					if(!CommonQueries.isEmpty(Query.universe().nodes(XCSG.Language.Java))) {
-						pointsToAnalysis = new JavaPointsTo();
-						pointsToAnalysis.run();
+						pointsToAnalysis = PointsToPreferences.isIncrementalAnalysisEnabled() && retainedAnalysis instanceof JavaPointsTo ? retainedAnalysis : new JavaPointsTo();
+						pointsToAnalysis = runAnalysis(pointsToAnalysis, monitor);
 					}
 				} else if(PointsToPreferences.isJimplePointsToAnalysisModeEnabled()){
 					if(!CommonQueries.isEmpty(Query.universe().nodes(XCSG.Language.Jimple))) {
-						pointsToAnalysis = new JimplePointsTo();
-						pointsToAnalysis.run();
+						pointsToAnalysis = PointsToPreferences.isIncrementalAnalysisEnabled() && retainedAnalysis instanceof JimplePointsTo ? retainedAnalysis : new JimplePointsTo();
+						pointsToAnalysis = runAnalysis(pointsToAnalysis, monitor);
 					}
 				}
 				
@@ -75,7 +99,15 @@ public class PointsToCodemapStage extends PrioritizedCodemapStage {
 						if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Applied " + numInferredTypeOfEdges + " inferred type of edge tags.");
 					}
 					
-					if(PointsToPreferences.isDisposeResourcesEnabled()){
+					if(PointsToPreferences.isAliasOracleEnabled()){
+						AliasOracle.setInstance(new AliasOracle(pointsToAnalysis));
+						if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Created alias oracle.");
+					} else {
+						AliasOracle.setInstance(null);
+					}
+					
+					// an incrementally updated analysis has to keep its resources
+					if(PointsToPreferences.isDisposeResourcesEnabled() && !PointsToPreferences.isIncrementalAnalysisEnabled()){
 						// throw away references we don't need anymore
 						if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Disposing temporary resources...");
 						pointsToAnalysis.dispose();
@@ -87,5 +119,102 @@ public class PointsToCodemapStage extends PrioritizedCodemapStage {
 		}
 		return runIndexer;
 	}
+	
+	/**
+	 * Runs the given points-to analysis, or if it has already been run
+	 * incrementally updates it with the functions and types that are new or
+	 * whose contents changed since it was last run. If most of the program
+	 * graph changed, or earlier updates removed too many nodes, a new analysis
+	 * is run instead.
+	 * If snapshots are enabled and the program graph has not changed since the
+	 * last snapshot was saved, the results are restored from the snapshot
+	 * instead and the restored analysis is returned.
+	 * 
+	 * @param pointsToAnalysis
+	 * @param monitor
+	 * @return the analysis holding the results
+	 */
+	private static PointsTo runAnalysis(PointsTo pointsToAnalysis, IProgressMonitor monitor){
+		File snapshotFile = null;
+		long fingerprint = 0;
+		if(PointsToPreferences.isSnapshotResultsEnabled()){
+			snapshotFile = Activator.getDefault().getStateLocation().append(pointsToAnalysis.getClass().getSimpleName() + ".snapshot").toFile();
+			fingerprint = PointsToSnapshot.computeFingerprint(pointsToAnalysis.getClass().getName(), monitor);
+			if(!pointsToAnalysis.hasRun()){
+				try {
+					PointsToSnapshot snapshot = PointsToSnapshot.load(snapshotFile, fingerprint, monitor);
+					if(snapshot != null){
+						if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Restoring points-to results from snapshot " + snapshotFile.getAbsolutePath());
+						PointsTo restoredAnalysis = new SnapshotPointsTo(snapshot);
+						restoredAnalysis.run();
+						// a restored analysis can not be updated incrementally
+						retainedAnalysis = null;
+						retainedFingerprints = null;
+						return restoredAnalysis;
+					}
+				} catch (IOException e) {
+					Log.warning("Unable to restore points-to snapshot " + snapshotFile.getAbsolutePath(), e);
+				}
+			}
+		}
+		CompactHashMap<Node,Long> fingerprints = PointsToPreferences.isIncrementalAnalysisEnabled() ? PointsToSnapshot.computeContainerFingerprints(monitor) : null;
+		if(pointsToAnalysis.hasRun()){
+			// a container is changed if it is new or its contents changed
+			AtlasSet<Node> changed = new AtlasHashSet<Node>();
+			for(Node container : fingerprints.keySet()){
+				Long retainedFingerprint = retainedFingerprints.get(container);
+				if(retainedFingerprint == null || !retainedFingerprint.equals(fingerprints.get(container))){
+					changed.add(container);
+				}
+			}
+			if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Found " + changed.size() + " new or modified functions and types since the last points-to analysis");
+			if(changed.size() > fingerprints.size() / 2){
+				// most of the program graph changed, so updating would do more work than a new analysis
+				if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Running a new points-to analysis instead of updating the last one");
+				pointsToAnalysis = newAnalysis(pointsToAnalysis);
+				pointsToAnalysis.run();
+			} else {
+				pointsToAnalysis.update(changed);
+				if(pointsToAnalysis.hasExcessRemovedNodes()){
+					// release the state of the nodes that were removed by earlier updates
+					if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Running a new points-to analysis to release removed nodes");
+					pointsToAnalysis = newAnalysis(pointsToAnalysis);
+					pointsToAnalysis.run();
+				}
+			}
+		} else {
+			pointsToAnalysis.run();
+		}
+		if(PointsToPreferences.isIncrementalAnalysisEnabled()){
+			retainedAnalysis = pointsToAnalysis;
+			retainedFingerprints = fingerprints;
+		} else {
+			retainedAnalysis = null;
+			retainedFingerprints = null;
+		}
+		if(snapshotFile != null){
+			try {
+				PointsToSnapshot.save(pointsToAnalysis, fingerprint, snapshotFile);
+				if(PointsToPreferences.isGeneralLoggingEnabled()) Log.info("Saved points-to snapshot " + snapshotFile.getAbsolutePath());
+			} catch (IOException e) {
+				Log.warning("Unable to save points-to snapshot " + snapshotFile.getAbsolutePath(), e);
+			}
+		}
+		return pointsToAnalysis;
+	}
+	
+	/**
+	 * Disposes the given analysis and returns a new analysis of the same kind
+	 * 
+	 * @param pointsToAnalysis
+	 * @return
+	 */
+	private static PointsTo newAnalysis(PointsTo pointsToAnalysis){
+		pointsToAnalysis.dispose();
+		if(pointsToAnalysis instanceof JimplePointsTo){
+			return new JimplePointsTo();
+		}
+		return new JavaPointsTo();
+	}
 
 }
\ No newline at end of file
@@ -0,0 +1,371 @@
+package com.ensoftcorp.open.pointsto.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+import com.ensoftcorp.atlas.core.db.graph.Node;
+import com.ensoftcorp.atlas.core.db.set.AtlasHashSet;
+import com.ensoftcorp.atlas.core.db.set.AtlasSet;
+import com.ensoftcorp.open.pointsto.analysis.PointsTo;
+import com.ensoftcorp.open.pointsto.utilities.NodeIndex;
+import com.ensoftcorp.open.pointsto.utilities.UnionFind;
+import com.ensoftcorp.open.pointsto.utilities.set.PointsToSet;
+import com.ensoftcorp.open.pointsto.utilities.set.SparseBitSet;
+
+/**
+ * An in-memory alias query service backed by the solved points-to sets of a
+ * points-to analysis. Unlike the alias helpers in {@link PointsToAnalysis},
+ * queries are answered from bitset intersections and do not read, parse or
+ * query alias tags, so the alias tags do not need to be applied.
+ *
+ * The oracle keeps its own copy of the points-to sets (nodes in a collapsed
+ * cycle share one copy), so it remains valid after the analysis is disposed.
+ * It reflects the results at the time it was created.
+ *
+ * @author Ben Holland
+ */
+public class AliasOracle {
+
+	private static final SparseBitSet EMPTY_SET = new SparseBitSet();
+
+	/**
+	 * The oracle of the most recent points-to analysis run by the codemap
+	 * stage, or null if there is none
+	 */
+	private static AliasOracle instance = null;
+
+	private final NodeIndex nodeIndex;
+
+	/**
+	 * The points-to set id of each node, indexed by node id
+	 */
+	private final int[] setIds;
+
+	/**
+	 * The distinct points-to sets, indexed by set id
+	 */
+	private final SparseBitSet[] sets;
+
+	/**
+	 * The node ids of the nodes sharing each points-to set in compressed
+	 * sparse row form, indexed by set id
+	 */
+	private final int[] memberOffsets;
+	private final int[] members;
+
+	/**
+	 * Inverted index of the ids of the points-to sets containing each address,
+	 * indexed by address
+	 */
+	private final SparseBitSet[] addressIndex;
+
+	/**
+	 * Creates an alias oracle from the results of the given points-to
+	 * analysis, which must have been run and not been disposed
+	 * @param pointsTo
+	 */
+	public AliasOracle(PointsTo pointsTo) {
+		if(pointsTo.isDisposed()){
+			throw new RuntimeException("Points-to analysis was disposed.");
+		}
+		AtlasSet<Node> addressedNodes = pointsTo.getAddressedNodes();
+		nodeIndex = new NodeIndex((int) addressedNodes.size());
+		setIds = new int[(int) addressedNodes.size()];
+		IdentityHashMap<PointsToSet,Integer> distinctSets = new IdentityHashMap<PointsToSet,Integer>();
+		SparseBitSet[] sets = new SparseBitSet[16];
+		for(Node node : addressedNodes){
+			int id = nodeIndex.getOrCreateId(node);
+			PointsToSet pointsToSet = pointsTo.getAliasAddressSet(node);
+			Integer setId = distinctSets.get(pointsToSet);
+			if(setId == null){
+				setId = distinctSets.size();
+				distinctSets.put(pointsToSet, setId);
+				if(setId == sets.length){
+					sets = Arrays.copyOf(sets, sets.length * 2);
+				}
+				sets[setId] = copy(pointsToSet);
+			}
+			setIds[id] = setId;
+		}
+		this.sets = Arrays.copyOf(sets, distinctSets.size());
+
+		// group the nodes by points-to set
+		memberOffsets = new int[this.sets.length + 1];
+		for(int id=0; id<setIds.length; id++){
+			memberOffsets[setIds[id] + 1]++;
+		}
+		for(int setId=0; setId<this.sets.length; setId++){
+			memberOffsets[setId + 1] += memberOffsets[setId];
+		}
+		members = new int[setIds.length];
+		int[] fill = Arrays.copyOf(memberOffsets, this.sets.length);
+		for(int id=0; id<setIds.length; id++){
+			members[fill[setIds[id]]++] = id;
+		}
+
+		// index the points-to sets by address
+		SparseBitSet[] addressIndex = new SparseBitSet[64];
+		for(int setId=0; setId<this.sets.length; setId++){
+			PrimitiveIterator.OfInt addresses = this.sets[setId].iterator();
+			while(addresses.hasNext()){
+				int address = addresses.nextInt();
+				if(address >= addressIndex.length){
+					addressIndex = Arrays.copyOf(addressIndex, Math.max(address + 1, addressIndex.length * 2));
+				}
+				if(addressIndex[address] == null){
+					addressIndex[address] = new SparseBitSet();
+				}
+				addressIndex[address].add(setId);
+			}
+		}
+		this.addressIndex = addressIndex;
+	}
+
+	private static SparseBitSet copy(PointsToSet pointsToSet){
+		if(pointsToSet instanceof SparseBitSet){
+			return new SparseBitSet((SparseBitSet) pointsToSet);
+		}
+		SparseBitSet copy = new SparseBitSet();
+		copy.addAll(pointsToSet);
+		return copy;
+	}
+
+	/**
+	 * Returns the alias oracle of the most recent points-to analysis run by
+	 * the codemap stage, or null if no oracle was created
+	 * @return
+	 */
+	public static AliasOracle getInstance(){
+		return instance;
+	}
+
+	/**
+	 * Sets the alias oracle returned by {@link #getInstance()}
+	 * @param oracle
+	 */
+	public static void setInstance(AliasOracle oracle){
+		instance = oracle;
+	}
+
+	/**
+	 * Returns the points-to set id of the given node or -1 if the node has no
+	 * points-to set
+	 */
+	private int getSetId(Node node){
+		int id = nodeIndex.getId(node);
+		return id < 0 ? -1 : setIds[id];
+	}
+
+	/**
+	 * Returns the addresses the given node may point to. The returned set must
+	 * not be modified.
+	 * @param node
+	 * @return
+	 */
+	public PointsToSet pointsTo(Node node){
+		int setId = getSetId(node);
+		return setId < 0 ? EMPTY_SET : sets[setId];
+	}
+
+	/**
+	 * Checks if the two given references may be aliases of each other
+	 * @param ref1
+	 * @param ref2
+	 * @return
+	 */
+	public boolean mayAlias(Node ref1, Node ref2){
+		int setId1 = getSetId(ref1);
+		int setId2 = getSetId(ref2);
+		if(setId1 < 0 || setId2 < 0){
+			return false;
+		}
+		if(setId1 == setId2){
+			return !sets[setId1].isEmpty();
+		}
+		return sets[setId1].intersects(sets[setId2]);
+	}
+
+	/**
+	 * Checks if the two given references must be aliases of each other
+	 * @param ref1
+	 * @param ref2
+	 * @return
+	 */
+	public boolean mustAlias(Node ref1, Node ref2){
+		int setId1 = getSetId(ref1);
+		int setId2 = getSetId(ref2);
+		if(setId1 == setId2){
+			return true;
+		}
+		return pointsTo(ref1).equals(pointsTo(ref2));
+	}
+
+	/**
+	 * Returns the nodes that may be aliases of the given node (including the
+	 * node itself if it points to at least one address)
+	 * @param node
+	 * @return
+	 */
+	public AtlasSet<Node> aliasesOf(Node node){
+		AtlasSet<Node> aliases = new AtlasHashSet<Node>();
+		int setId = getSetId(node);
+		if(setId < 0 || sets[setId].isEmpty()){
+			return aliases;
+		}
+		SparseBitSet aliasSetIds = new SparseBitSet();
+		PrimitiveIterator.OfInt addresses = sets[setId].iterator();
+		while(addresses.hasNext()){
+			aliasSetIds.addAll(addressIndex[addresses.nextInt()]);
+		}
+		PrimitiveIterator.OfInt aliasSetIdsIterator = aliasSetIds.iterator();
+		while(aliasSetIdsIterator.hasNext()){
+			int aliasSetId = aliasSetIdsIterator.nextInt();
+			for(int i=memberOffsets[aliasSetId]; i<memberOffsets[aliasSetId + 1]; i++){
+				aliases.add(nodeIndex.getNode(members[i]));
+			}
+		}
+		return aliases;
+	}
+
+	/**
+	 * Returns the nodes that may point to the given address
+	 * @param address
+	 * @return
+	 */
+	public AtlasSet<Node> referencesTo(int address){
+		AtlasSet<Node> references = new AtlasHashSet<Node>();
+		if(address < 0 || address >= addressIndex.length || addressIndex[address] == null){
+			return references;
+		}
+		PrimitiveIterator.OfInt setIdsIterator = addressIndex[address].iterator();
+		while(setIdsIterator.hasNext()){
+			int setId = setIdsIterator.nextInt();
+			for(int i=memberOffsets[setId]; i<memberOffsets[setId + 1]; i++){
+				references.add(nodeIndex.getNode(members[i]));
+			}
+		}
+		return references;
+	}
+
+	/**
+	 * Partitions the given references into alias classes. Two references are
+	 * in the same class if they are connected by a chain of references that
+	 * may alias each other, so references in different classes must not
+	 * alias each other. References are bucketed by address instead of being
+	 * compared pairwise, so the cost is linear in the total size of their
+	 * points-to sets. Each reference without any address is its own class.
+	 * @param references
+	 * @return
+	 */
+	public List<AtlasSet<Node>> computeAliasClasses(AtlasSet<Node> references){
+		List<Node> referenceList = new ArrayList<Node>((int) references.size());
+		for(Node reference : references){
+			referenceList.add(reference);
+		}
+		UnionFind classes = new UnionFind();
+		int[] setReferences = new int[sets.length];
+		Arrays.fill(setReferences, -1);
+		int[] addressReferences = new int[64];
+		Arrays.fill(addressReferences, -1);
+		for(int i=0; i<referenceList.size(); i++){
+			int setId = getSetId(referenceList.get(i));
+			if(setId < 0 || sets[setId].isEmpty()){
+				continue;
+			}
+			// references sharing a points-to set only need to be bucketed once
+			if(setReferences[setId] >= 0){
+				classes.union(i, setReferences[setId]);
+				continue;
+			}
+			setReferences[setId] = i;
+			PrimitiveIterator.OfInt addresses = sets[setId].iterator();
+			while(addresses.hasNext()){
+				int address = addresses.nextInt();
+				if(address >= addressReferences.length){
+					int length = addressReferences.length;
+					addressReferences = Arrays.copyOf(addressReferences, Math.max(address + 1, length * 2));
+					Arrays.fill(addressReferences, length, addressReferences.length, -1);
+				}
+				if(addressReferences[address] >= 0){
+					classes.union(i, addressReferences[address]);
+				} else {
+					addressReferences[address] = i;
+				}
+			}
+		}
+		List<AtlasSet<Node>> aliasClasses = new ArrayList<AtlasSet<Node>>();
+		for(int i=0; i<referenceList.size(); i++){
+			if(classes.find(i) == i){
+				AtlasSet<Node> aliasClass = new AtlasHashSet<Node>();
+				for(int member : classes.getMembers(i)){
+					aliasClass.add(referenceList.get(member));
+				}
+				aliasClasses.add(aliasClass);
+			}
+		}
+		return aliasClasses;
+	}
+
+	/**
+	 * Computes the may alias matrix of the given references. Bit j of row i
+	 * is set if the i-th and j-th references may alias each other. References
+	 * that share a points-to set always have the same row, so the references
+	 * are grouped by set and the sets are intersected once per pair of distinct
+	 * sets. The cost is quadratic in the number of distinct non-empty sets among
+	 * the references plus the size of the matrix, not in the number of
+	 * references.
+	 * @param references
+	 * @return
+	 */
+	public BitSet[] computeMayAliasMatrix(List<Node> references){
+		int size = references.size();
+		BitSet[] matrix = new BitSet[size];
+		
+		// group the references by their non-empty points-to set
+		int[] groups = new int[size];
+		int[] groupIds = new int[sets.length];
+		Arrays.fill(groupIds, -1);
+		List<SparseBitSet> groupSets = new ArrayList<SparseBitSet>();
+		List<BitSet> groupMembers = new ArrayList<BitSet>();
+		for(int i=0; i<size; i++){
+			int setId = getSetId(references.get(i));
+			if(setId < 0 || sets[setId].isEmpty()){
+				groups[i] = -1;
+				continue;
+			}
+			if(groupIds[setId] < 0){
+				groupIds[setId] = groupSets.size();
+				groupSets.add(sets[setId]);
+				groupMembers.add(new BitSet(size));
+			}
+			groups[i] = groupIds[setId];
+			groupMembers.get(groups[i]).set(i);
+		}
+		
+		// the row of a group is the union of the members of every group whose set it intersects
+		int groupCount = groupSets.size();
+		BitSet[] groupRows = new BitSet[groupCount];
+		for(int group=0; group<groupCount; group++){
+			groupRows[group] = new BitSet(size);
+			groupRows[group].or(groupMembers.get(group));
+		}
+		for(int group1=0; group1<groupCount; group1++){
+			for(int group2=group1+1; group2<groupCount; group2++){
+				if(groupSets.get(group1).intersects(groupSets.get(group2))){
+					groupRows[group1].or(groupMembers.get(group2));
+					groupRows[group2].or(groupMembers.get(group1));
+				}
+			}
+		}
+		
+		for(int i=0; i<size; i++){
+			matrix[i] = groups[i] < 0 ? new BitSet(size) : (BitSet) groupRows[groups[i]].clone();
+		}
+		return matrix;
+	}
+
+}
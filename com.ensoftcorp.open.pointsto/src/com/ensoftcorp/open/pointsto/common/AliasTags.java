@@ -0,0 +1,158 @@
+package com.ensoftcorp.open.pointsto.common;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An interning table of alias tag strings shared by the points-to analysis
+ * and the {@link PointsToAnalysis} helpers. Each alias tag and array memory
+ * model tag is built once per address, so tagging nodes and decoding tags back
+ * to addresses are constant time lookups that do not allocate. Only encoding an
+ * address interns its tag; decoding a tag that was never interned parses it
+ * without growing the table.
+ *
+ * Address 0 is the null address and maps to {@link PointsToAnalysis#NULL_ALIAS}
+ * and {@link PointsToAnalysis#NULL_ARRAY_MEMORY_MODEL}.
+ *
+ * @author Ben Holland
+ */
+public class AliasTags {
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	/**
+	 * Interned tags indexed by address, replaced by a larger copy when an
+	 * address beyond the end is interned
+	 */
+	private static volatile String[] aliasTags = new String[DEFAULT_CAPACITY];
+	private static volatile String[] arrayMemoryModelTags = new String[DEFAULT_CAPACITY];
+
+	/**
+	 * The address of each interned tag
+	 */
+	private static final ConcurrentHashMap<String,Integer> aliasAddresses = new ConcurrentHashMap<String,Integer>();
+	private static final ConcurrentHashMap<String,Integer> arrayMemoryModelAddresses = new ConcurrentHashMap<String,Integer>();
+
+	static {
+		aliasTags[0] = PointsToAnalysis.NULL_ALIAS;
+		aliasAddresses.put(PointsToAnalysis.NULL_ALIAS, 0);
+		arrayMemoryModelTags[0] = PointsToAnalysis.NULL_ARRAY_MEMORY_MODEL;
+		arrayMemoryModelAddresses.put(PointsToAnalysis.NULL_ARRAY_MEMORY_MODEL, 0);
+	}
+
+	private AliasTags() {}
+
+	/**
+	 * Returns the alias tag of the given address
+	 * @param address
+	 * @return
+	 */
+	public static String getAliasTag(int address){
+		String[] tags = aliasTags;
+		if(address >= 0 && address < tags.length){
+			String tag = tags[address];
+			if(tag != null){
+				return tag;
+			}
+		}
+		return internAliasTag(address);
+	}
+
+	/**
+	 * Returns the array memory model tag of the given address
+	 * @param address
+	 * @return
+	 */
+	public static String getArrayMemoryModelTag(int address){
+		String[] tags = arrayMemoryModelTags;
+		if(address >= 0 && address < tags.length){
+			String tag = tags[address];
+			if(tag != null){
+				return tag;
+			}
+		}
+		return internArrayMemoryModelTag(address);
+	}
+
+	/**
+	 * Returns the address of the given alias tag
+	 * @param aliasTag
+	 * @return
+	 * @throws IllegalArgumentException if the tag is not an alias tag
+	 */
+	public static int getAliasAddress(String aliasTag){
+		Integer address = aliasAddresses.get(aliasTag);
+		if(address != null){
+			return address;
+		}
+		// tags that were not built by the analysis are parsed but not interned
+		return parseAddress(aliasTag, PointsToAnalysis.ALIAS_PREFIX);
+	}
+
+	/**
+	 * Returns the address of the given array memory model tag
+	 * @param arrayMemoryModelTag
+	 * @return
+	 * @throws IllegalArgumentException if the tag is not an array memory model tag
+	 */
+	public static int getArrayMemoryModelAddress(String arrayMemoryModelTag){
+		Integer address = arrayMemoryModelAddresses.get(arrayMemoryModelTag);
+		if(address != null){
+			return address;
+		}
+		// tags that were not built by the analysis are parsed but not interned
+		return parseAddress(arrayMemoryModelTag, PointsToAnalysis.ARRAY_MEMORY_MODEL_PREFIX);
+	}
+
+	private static int parseAddress(String tag, String prefix){
+		if(!tag.startsWith(prefix)){
+			throw new IllegalArgumentException(tag + " is not a valid alias tag.");
+		}
+		try {
+			int address = Integer.parseInt(tag.substring(prefix.length()));
+			if(address < 0){
+				throw new IllegalArgumentException(tag + " is not a valid alias tag.");
+			}
+			return address;
+		} catch (NumberFormatException e){
+			throw new IllegalArgumentException(tag + " is not a valid alias tag.");
+		}
+	}
+
+	private static synchronized String internAliasTag(int address){
+		if(address < 0){
+			throw new IllegalArgumentException("Invalid address: " + address);
+		}
+		String[] tags = aliasTags;
+		if(address >= tags.length){
+			tags = Arrays.copyOf(tags, Math.max(address + 1, tags.length * 2));
+		}
+		String tag = tags[address];
+		if(tag == null){
+			tag = PointsToAnalysis.ALIAS_PREFIX + address;
+			tags[address] = tag;
+			aliasAddresses.put(tag, address);
+		}
+		aliasTags = tags;
+		return tag;
+	}
+
+	private static synchronized String internArrayMemoryModelTag(int address){
+		if(address < 0){
+			throw new IllegalArgumentException("Invalid address: " + address);
+		}
+		String[] tags = arrayMemoryModelTags;
+		if(address >= tags.length){
+			tags = Arrays.copyOf(tags, Math.max(address + 1, tags.length * 2));
+		}
+		String tag = tags[address];
+		if(tag == null){
+			tag = PointsToAnalysis.ARRAY_MEMORY_MODEL_PREFIX + address;
+			tags[address] = tag;
+			arrayMemoryModelAddresses.put(tag, address);
+		}
+		arrayMemoryModelTags = tags;
+		return tag;
+	}
+
+}
@@ -63,12 +63,7 @@ public class PointsToAnalysis {
 		} else if(!aliasTag.startsWith(ALIAS_PREFIX)){
 			throw new IllegalArgumentException(aliasTag + " is not a valid alias tag.");
 		} else {
-			try {
-				Integer address = Integer.parseInt(aliasTag.replace(ALIAS_PREFIX, ""));
-				return isArrayMemoryModelAddress(address);
-			} catch (Exception e){
-				throw new IllegalArgumentException(aliasTag + " is not a valid alias tag.");
-			}
+			return isArrayMemoryModelAddress(AliasTags.getAliasAddress(aliasTag));
 		}
 	}
 	
@@ -81,7 +76,7 @@ public class PointsToAnalysis {
 		if(address == 0){
 			return true;
 		} else {
-			return !Query.universe().nodes((ARRAY_MEMORY_MODEL_PREFIX + address), NULL_ARRAY_MEMORY_MODEL)
+			return !Query.universe().nodes(AliasTags.getArrayMemoryModelTag(address), NULL_ARRAY_MEMORY_MODEL)
 				.eval().nodes().isEmpty();
 		}
 	}
@@ -171,7 +166,7 @@ public class PointsToAnalysis {
 				if(tag.equals(NULL_ARRAY_MEMORY_MODEL)){
 					tags.add(NULL_ALIAS);
 				} else if(tag.startsWith(ARRAY_MEMORY_MODEL_PREFIX)){
-					tags.add(tag.replace(ARRAY_MEMORY_MODEL_PREFIX, ALIAS_PREFIX));
+					tags.add(AliasTags.getAliasTag(AliasTags.getArrayMemoryModelAddress(tag)));
 				}
 			}
 		}
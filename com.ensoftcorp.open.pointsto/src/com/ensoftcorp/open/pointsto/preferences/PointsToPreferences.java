@@ -145,10 +145,94 @@ public class PointsToPreferences extends AbstractPreferenceInitializer {
 		return collapseSCCsValue;
 	}
 	
+	/**
+	 * Enable/disable difference propagation
+	 */
+	public static final String DIFFERENCE_PROPAGATION = "DIFFERENCE_PROPAGATION";
+	public static final Boolean DIFFERENCE_PROPAGATION_DEFAULT = false;
+	private static boolean differencePropagationValue = DIFFERENCE_PROPAGATION_DEFAULT;
+	
+	/**
+	 * Configures difference propagation
+	 */
+	public static void enableDifferencePropagation(boolean enabled){
+		IPreferenceStore preferences = Activator.getDefault().getPreferenceStore();
+		preferences.setValue(DIFFERENCE_PROPAGATION, enabled);
+		loadPreferences();
+	}
+	
+	/**
+	 * Returns true if difference propagation is enabled
+	 * @return
+	 */
+	public static boolean isDifferencePropagationEnabled(){
+		if(!initialized){
+			loadPreferences();
+		}
+		return differencePropagationValue;
+	}
+	
+	/**
+	 * Enable/disable online cycle detection
+	 */
+	public static final String ONLINE_CYCLE_DETECTION = "ONLINE_CYCLE_DETECTION";
+	public static final Boolean ONLINE_CYCLE_DETECTION_DEFAULT = false;
+	private static boolean onlineCycleDetectionValue = ONLINE_CYCLE_DETECTION_DEFAULT;
+	
+	/**
+	 * Configures online cycle detection
+	 */
+	public static void enableOnlineCycleDetection(boolean enabled){
+		IPreferenceStore preferences = Activator.getDefault().getPreferenceStore();
+		preferences.setValue(ONLINE_CYCLE_DETECTION, enabled);
+		loadPreferences();
+	}
+	
+	/**
+	 * Returns true if online cycle detection is enabled
+	 * @return
+	 */
+	public static boolean isOnlineCycleDetectionEnabled(){
+		if(!initialized){
+			loadPreferences();
+		}
+		return onlineCycleDetectionValue;
+	}
+	
+	/**
+	 * Configures the number of worker threads used to propagate points-to sets
+	 */
+	public static final String WORKER_THREADS = "WORKER_THREADS";
+	public static final Integer WORKER_THREADS_DEFAULT = 1;
+	private static int workerThreadsValue = WORKER_THREADS_DEFAULT;
+	
+	/**
+	 * Sets the number of worker threads used to propagate points-to sets, a
+	 * value of 1 propagates points-to sets serially
+	 */
+	public static void setWorkerThreads(int workerThreads){
+		IPreferenceStore preferences = Activator.getDefault().getPreferenceStore();
+		preferences.setValue(WORKER_THREADS, workerThreads);
+		loadPreferences();
+	}
+	
+	/**
+	 * Returns the number of worker threads used to propagate points-to sets
+	 * @return
+	 */
+	public static int getWorkerThreads(){
+		if(!initialized){
+			loadPreferences();
+		}
+		return workerThreadsValue;
+	}
+	
 	public static final String POINTS_TO_ANALYSIS_FRONTIER_MODE = "POINTS_TO_ANALYSIS_FRONTIER_MODE";
 	public static final String POINTS_TO_ANALYSIS_FIFO_FRONTIER_MODE = "POINTS_TO_ANALYSIS_FIFO_FRONTIER_MODE";
 	public static final String POINTS_TO_ANALYSIS_LIFO_FRONTIER_MODE = "POINTS_TO_ANALYSIS_LIFO_FRONTIER_MODE";
 	public static final String POINTS_TO_ANALYSIS_LRU_FRONTIER_MODE = "POINTS_TO_ANALYSIS_LRU_FRONTIER_MODE";
+	public static final String POINTS_TO_ANALYSIS_WAVE_FRONTIER_MODE = "POINTS_TO_ANALYSIS_WAVE_FRONTIER_MODE";
+	public static final String POINTS_TO_ANALYSIS_PRIORITY_FRONTIER_MODE = "POINTS_TO_ANALYSIS_PRIORITY_FRONTIER_MODE";
 	public static final String POINTS_TO_ANALYSIS_FRONTIER_MODE_DEFAULT = POINTS_TO_ANALYSIS_FIFO_FRONTIER_MODE;
 	private static String frontierAnalysisModeValue = POINTS_TO_ANALYSIS_FRONTIER_MODE_DEFAULT;
 	
@@ -212,6 +296,92 @@ public class PointsToPreferences extends AbstractPreferenceInitializer {
 		return frontierAnalysisModeValue.equals(POINTS_TO_ANALYSIS_LRU_FRONTIER_MODE);
 	}
 	
+	/**
+	 * Configures points-to analysis frontier mode to use wave mode
+	 */
+	public static void setPointsToAnalysisWaveFrontierMode(){
+		IPreferenceStore preferences = Activator.getDefault().getPreferenceStore();
+		preferences.setValue(POINTS_TO_ANALYSIS_FRONTIER_MODE, POINTS_TO_ANALYSIS_WAVE_FRONTIER_MODE);
+		loadPreferences();
+	}
+	
+	/**
+	 * Returns true if points-to analysis wave frontier is enabled
+	 * @return
+	 */
+	public static boolean isPointsToAnalysisWaveFrontierMode(){
+		if(!initialized){
+			loadPreferences();
+		}
+		return frontierAnalysisModeValue.equals(POINTS_TO_ANALYSIS_WAVE_FRONTIER_MODE);
+	}
+	
+	/**
+	 * Configures points-to analysis frontier mode to use least recently fired priority mode
+	 */
+	public static void setPointsToAnalysisPriorityFrontierMode(){
+		IPreferenceStore preferences = Activator.getDefault().getPreferenceStore();
+		preferences.setValue(POINTS_TO_ANALYSIS_FRONTIER_MODE, POINTS_TO_ANALYSIS_PRIORITY_FRONTIER_MODE);
+		loadPreferences();
+	}
+	
+	/**
+	 * Returns true if points-to analysis least recently fired priority frontier is enabled
+	 * @return
+	 */
+	public static boolean isPointsToAnalysisPriorityFrontierMode(){
+		if(!initialized){
+			loadPreferences();
+		}
+		return frontierAnalysisModeValue.equals(POINTS_TO_ANALYSIS_PRIORITY_FRONTIER_MODE);
+	}
+	
+	public static final String POINTS_TO_SET_MODE = "POINTS_TO_SET_MODE";
+	public static final String HASH_SET_POINTS_TO_SET_MODE = "HASH_SET_POINTS_TO_SET_MODE";
+	public static final String BITSET_POINTS_TO_SET_MODE = "BITSET_POINTS_TO_SET_MODE";
+	public static final String POINTS_TO_SET_MODE_DEFAULT = BITSET_POINTS_TO_SET_MODE;
+	private static String pointsToSetModeValue = POINTS_TO_SET_MODE_DEFAULT;
+	
+	/**
+	 * Configures points-to sets to be stored as hash sets of addresses
+	 */
+	public static void setHashSetPointsToSetMode(){
+		IPreferenceStore preferences = Activator.getDefault().getPreferenceStore();
+		preferences.setValue(POINTS_TO_SET_MODE, HASH_SET_POINTS_TO_SET_MODE);
+		loadPreferences();
+	}
+	
+	/**
+	 * Returns true if points-to sets are stored as hash sets of addresses
+	 * @return
+	 */
+	public static boolean isHashSetPointsToSetMode(){
+		if(!initialized){
+			loadPreferences();
+		}
+		return pointsToSetModeValue.equals(HASH_SET_POINTS_TO_SET_MODE);
+	}
+	
+	/**
+	 * Configures points-to sets to be stored as compressed bitsets of addresses
+	 */
+	public static void setBitSetPointsToSetMode(){
+		IPreferenceStore preferences = Activator.getDefault().getPreferenceStore();
+		preferences.setValue(POINTS_TO_SET_MODE, BITSET_POINTS_TO_SET_MODE);
+		loadPreferences();
+	}
+	
+	/**
+	 * Returns true if points-to sets are stored as compressed bitsets of addresses
+	 * @return
+	 */
+	public static boolean isBitSetPointsToSetMode(){
+		if(!initialized){
+			loadPreferences();
+		}
+		return pointsToSetModeValue.equals(BITSET_POINTS_TO_SET_MODE);
+	}
+	
 	/**
 	 * Enable/disable tracking array read/writes
 	 */
@@ -235,6 +405,224 @@ public class PointsToPreferences extends AbstractPreferenceInitializer {
 		return arrayComponentTrackingValue;
 	}
 	
+	/**
+	 * Enable/disable field sensitive tracking of instance fields
+	 */
+	public static final String FIELD_SENSITIVITY = "FIELD_SENSITIVITY";
+	public static final Boolean FIELD_SENSITIVITY_DEFAULT = false;
+	private static boolean fieldSensitivityValue = FIELD_SENSITIVITY_DEFAULT;
+	
+	/**
+	 * Configures field sensitive tracking of instance fields
+	 */
+	public static void enableFieldSensitivity(boolean enabled){
+		IPreferenceStore preferences = Activator.getDefault().getPreferenceStore();
+		preferences.setValue(FIELD_SENSITIVITY, enabled);
+		loadPreferences();
+	}
+	
+	/**
+	 * Returns true if field sensitive tracking of instance fields is enabled
+	 * @return
+	 */
+	public static boolean isFieldSensitivityEnabled(){
+		if(!initialized){
+			loadPreferences();
+		}
+		return fieldSensitivityValue;
+	}
+	
+	/**
+	 * Enable/disable call site sensitive heap cloning of returned objects
+	 */
+	public static final String HEAP_CLONING = "HEAP_CLONING";
+	public static final Boolean HEAP_CLONING_DEFAULT = false;
+	private static boolean heapCloningValue = HEAP_CLONING_DEFAULT;
+	
+	/**
+	 * Configures call site sensitive heap cloning of returned objects
+	 */
+	public static void enableHeapCloning(boolean enabled){
+		IPreferenceStore preferences = Activator.getDefault().getPreferenceStore();
+		preferences.setValue(HEAP_CLONING, enabled);
+		loadPreferences();
+	}
+	
+	/**
+	 * Returns true if call site sensitive heap cloning of returned objects is enabled
+	 * @return
+	 */
+	public static boolean isHeapCloningEnabled(){
+		if(!initialized){
+			loadPreferences();
+		}
+		return heapCloningValue;
+	}
+	
+	
+	/**
+	 * Configures the number of call sites in the context of a cloned address
+	 */
+	public static final String HEAP_CLONING_DEPTH = "HEAP_CLONING_DEPTH";
+	public static final Integer HEAP_CLONING_DEPTH_DEFAULT = 1;
+	private static int heapCloningDepthValue = HEAP_CLONING_DEPTH_DEFAULT;
+	
+	/**
+	 * Sets the maximum number of call sites (k) in the context of a cloned
+	 * address
+	 */
+	public static void setHeapCloningDepth(int depth){
+		IPreferenceStore preferences = Activator.getDefault().getPreferenceStore();
+		preferences.setValue(HEAP_CLONING_DEPTH, depth);
+		loadPreferences();
+	}
+	
+	/**
+	 * Returns the maximum number of call sites (k) in the context of a cloned
+	 * address
+	 * @return
+	 */
+	public static int getHeapCloningDepth(){
+		if(!initialized){
+			loadPreferences();
+		}
+		return heapCloningDepthValue;
+	}
+	
+	/**
+	 * Enable/disable incremental updates of the points-to analysis after the program graph changes
+	 */
+	public static final String INCREMENTAL_ANALYSIS = "INCREMENTAL_ANALYSIS";
+	public static final Boolean INCREMENTAL_ANALYSIS_DEFAULT = false;
+	private static boolean incrementalAnalysisValue = INCREMENTAL_ANALYSIS_DEFAULT;
+	
+	/**
+	 * Configures incremental updates of the points-to analysis after the program graph changes
+	 */
+	public static void enableIncrementalAnalysis(boolean enabled){
+		IPreferenceStore preferences = Activator.getDefault().getPreferenceStore();
+		preferences.setValue(INCREMENTAL_ANALYSIS, enabled);
+		loadPreferences();
+	}
+	
+	/**
+	 * Returns true if the points-to analysis is incrementally updated after the program graph changes
+	 * @return
+	 */
+	public static boolean isIncrementalAnalysisEnabled(){
+		if(!initialized){
+			loadPreferences();
+		}
+		return incrementalAnalysisValue;
+	}
+	
+	/**
+	 * Enable/disable saving and reloading points-to result snapshots
+	 */
+	public static final String SNAPSHOT_RESULTS = "SNAPSHOT_RESULTS";
+	public static final Boolean SNAPSHOT_RESULTS_DEFAULT = false;
+	private static boolean snapshotResultsValue = SNAPSHOT_RESULTS_DEFAULT;
+	
+	/**
+	 * Configures saving and reloading points-to result snapshots
+	 */
+	public static void enableSnapshotResults(boolean enabled){
+		IPreferenceStore preferences = Activator.getDefault().getPreferenceStore();
+		preferences.setValue(SNAPSHOT_RESULTS, enabled);
+		loadPreferences();
+	}
+	
+	/**
+	 * Returns true if saving and reloading points-to result snapshots is enabled
+	 * @return
+	 */
+	public static boolean isSnapshotResultsEnabled(){
+		if(!initialized){
+			loadPreferences();
+		}
+		return snapshotResultsValue;
+	}
+	
+	/**
+	 * Enable/disable keeping an in-memory alias oracle of the points-to results
+	 */
+	public static final String ALIAS_ORACLE = "ALIAS_ORACLE";
+	public static final Boolean ALIAS_ORACLE_DEFAULT = false;
+	private static boolean aliasOracleValue = ALIAS_ORACLE_DEFAULT;
+	
+	/**
+	 * Configures keeping an in-memory alias oracle of the points-to results
+	 */
+	public static void enableAliasOracle(boolean enabled){
+		IPreferenceStore preferences = Activator.getDefault().getPreferenceStore();
+		preferences.setValue(ALIAS_ORACLE, enabled);
+		loadPreferences();
+	}
+	
+	/**
+	 * Returns true if keeping an in-memory alias oracle of the points-to results is enabled
+	 * @return
+	 */
+	public static boolean isAliasOracleEnabled(){
+		if(!initialized){
+			loadPreferences();
+		}
+		return aliasOracleValue;
+	}
+	
+	/**
+	 * Enable/disable maintaining an inverted index of addresses to the nodes that point to them
+	 */
+	public static final String ADDRESS_INDEX = "ADDRESS_INDEX";
+	public static final Boolean ADDRESS_INDEX_DEFAULT = false;
+	private static boolean addressIndexValue = ADDRESS_INDEX_DEFAULT;
+	
+	/**
+	 * Configures maintaining an inverted index of addresses to the nodes that point to them
+	 */
+	public static void enableAddressIndex(boolean enabled){
+		IPreferenceStore preferences = Activator.getDefault().getPreferenceStore();
+		preferences.setValue(ADDRESS_INDEX, enabled);
+		loadPreferences();
+	}
+	
+	/**
+	 * Returns true if maintaining an inverted index of addresses to the nodes that point to them is enabled
+	 * @return
+	 */
+	public static boolean isAddressIndexEnabled(){
+		if(!initialized){
+			loadPreferences();
+		}
+		return addressIndexValue;
+	}
+	
+	/**
+	 * Enable/disable node id backed FIFO, LIFO and LRU frontiers
+	 */
+	public static final String INDEXED_FRONTIER = "INDEXED_FRONTIER";
+	public static final Boolean INDEXED_FRONTIER_DEFAULT = false;
+	private static boolean indexedFrontierValue = INDEXED_FRONTIER_DEFAULT;
+	
+	/**
+	 * Configures node id backed FIFO, LIFO and LRU frontiers
+	 */
+	public static void enableIndexedFrontier(boolean enabled){
+		IPreferenceStore preferences = Activator.getDefault().getPreferenceStore();
+		preferences.setValue(INDEXED_FRONTIER, enabled);
+		loadPreferences();
+	}
+	
+	/**
+	 * Returns true if node id backed FIFO, LIFO and LRU frontiers is enabled
+	 * @return
+	 */
+	public static boolean isIndexedFrontierEnabled(){
+		if(!initialized){
+			loadPreferences();
+		}
+		return indexedFrontierValue;
+	}
 	
 	/**
 	 * Enable/disable tagging aliases
@@ -259,6 +647,33 @@ public class PointsToPreferences extends AbstractPreferenceInitializer {
 		return tagAliasesValue;
 	}
 	
+	/**
+	 * Enable/disable deferring alias tagging until the points-to sets are solved
+	 */
+	public static final String DEFERRED_ALIAS_TAGGING = "DEFERRED_ALIAS_TAGGING";
+	public static final Boolean DEFERRED_ALIAS_TAGGING_DEFAULT = false;
+	private static boolean deferredAliasTaggingValue = DEFERRED_ALIAS_TAGGING_DEFAULT;
+	
+	/**
+	 * Configures deferring alias tagging until the points-to sets are solved
+	 */
+	public static void enableDeferredAliasTagging(boolean enabled){
+		IPreferenceStore preferences = Activator.getDefault().getPreferenceStore();
+		preferences.setValue(DEFERRED_ALIAS_TAGGING, enabled);
+		loadPreferences();
+	}
+	
+	/**
+	 * Returns true if deferring alias tagging until the points-to sets are solved is enabled
+	 * @return
+	 */
+	public static boolean isDeferredAliasTaggingEnabled(){
+		if(!initialized){
+			loadPreferences();
+		}
+		return deferredAliasTaggingValue;
+	}
+	
 	/**
 	 * Enable/disable tagging inferred dataflows
 	 */
@@ -382,9 +797,22 @@ public class PointsToPreferences extends AbstractPreferenceInitializer {
 		preferences.setDefault(POINTS_TO_ANALYSIS_MODE, POINTS_TO_ANALYSIS_MODE_DEFAULT);
 		preferences.setDefault(GENERAL_LOGGING, GENERAL_LOGGING_DEFAULT);
 		preferences.setDefault(COLLAPSE_SCCS, COLLAPSE_SCCS_DEFAULT);
+		preferences.setDefault(DIFFERENCE_PROPAGATION, DIFFERENCE_PROPAGATION_DEFAULT);
+		preferences.setDefault(ONLINE_CYCLE_DETECTION, ONLINE_CYCLE_DETECTION_DEFAULT);
+		preferences.setDefault(WORKER_THREADS, WORKER_THREADS_DEFAULT);
 		preferences.setDefault(POINTS_TO_ANALYSIS_FRONTIER_MODE, POINTS_TO_ANALYSIS_FRONTIER_MODE_DEFAULT);
+		preferences.setDefault(POINTS_TO_SET_MODE, POINTS_TO_SET_MODE_DEFAULT);
 		preferences.setDefault(ARRAY_COMPONENT_TRACKING, ARRAY_COMPONENT_TRACKING_DEFAULT);
+		preferences.setDefault(FIELD_SENSITIVITY, FIELD_SENSITIVITY_DEFAULT);
+		preferences.setDefault(HEAP_CLONING, HEAP_CLONING_DEFAULT);
+		preferences.setDefault(HEAP_CLONING_DEPTH, HEAP_CLONING_DEPTH_DEFAULT);
+		preferences.setDefault(INCREMENTAL_ANALYSIS, INCREMENTAL_ANALYSIS_DEFAULT);
+		preferences.setDefault(SNAPSHOT_RESULTS, SNAPSHOT_RESULTS_DEFAULT);
+		preferences.setDefault(ALIAS_ORACLE, ALIAS_ORACLE_DEFAULT);
+		preferences.setDefault(ADDRESS_INDEX, ADDRESS_INDEX_DEFAULT);
+		preferences.setDefault(INDEXED_FRONTIER, INDEXED_FRONTIER_DEFAULT);
 		preferences.setDefault(TAG_ALIASES, TAG_ALIASES_DEFAULT);
+		preferences.setDefault(DEFERRED_ALIAS_TAGGING, DEFERRED_ALIAS_TAGGING_DEFAULT);
 		preferences.setDefault(TAG_INFERRED_DATAFLOWS, TAG_INFERRED_DATAFLOWS_DEFAULT);
 		preferences.setDefault(TAG_RUNTIME_TYPES, TAG_RUNTIME_TYPES_DEFAULT);
 		preferences.setDefault(REWRITE_ARRAY_COMPONENTS, REWRITE_ARRAY_COMPONENTS_DEFAULT);
@@ -401,9 +829,22 @@ public class PointsToPreferences extends AbstractPreferenceInitializer {
 		preferences.setValue(POINTS_TO_ANALYSIS_MODE, POINTS_TO_ANALYSIS_MODE_DEFAULT);
 		preferences.setValue(GENERAL_LOGGING, GENERAL_LOGGING_DEFAULT);
 		preferences.setValue(COLLAPSE_SCCS, COLLAPSE_SCCS_DEFAULT);
+		preferences.setValue(DIFFERENCE_PROPAGATION, DIFFERENCE_PROPAGATION_DEFAULT);
+		preferences.setValue(ONLINE_CYCLE_DETECTION, ONLINE_CYCLE_DETECTION_DEFAULT);
+		preferences.setValue(WORKER_THREADS, WORKER_THREADS_DEFAULT);
 		preferences.setValue(POINTS_TO_ANALYSIS_FRONTIER_MODE, POINTS_TO_ANALYSIS_FRONTIER_MODE_DEFAULT);
+		preferences.setValue(POINTS_TO_SET_MODE, POINTS_TO_SET_MODE_DEFAULT);
 		preferences.setValue(ARRAY_COMPONENT_TRACKING, ARRAY_COMPONENT_TRACKING_DEFAULT);
+		preferences.setValue(FIELD_SENSITIVITY, FIELD_SENSITIVITY_DEFAULT);
+		preferences.setValue(HEAP_CLONING, HEAP_CLONING_DEFAULT);
+		preferences.setValue(HEAP_CLONING_DEPTH, HEAP_CLONING_DEPTH_DEFAULT);
+		preferences.setValue(INCREMENTAL_ANALYSIS, INCREMENTAL_ANALYSIS_DEFAULT);
+		preferences.setValue(SNAPSHOT_RESULTS, SNAPSHOT_RESULTS_DEFAULT);
+		preferences.setValue(ALIAS_ORACLE, ALIAS_ORACLE_DEFAULT);
+		preferences.setValue(ADDRESS_INDEX, ADDRESS_INDEX_DEFAULT);
+		preferences.setValue(INDEXED_FRONTIER, INDEXED_FRONTIER_DEFAULT);
 		preferences.setValue(TAG_ALIASES, TAG_ALIASES_DEFAULT);
+		preferences.setValue(DEFERRED_ALIAS_TAGGING, DEFERRED_ALIAS_TAGGING_DEFAULT);
 		preferences.setValue(TAG_INFERRED_DATAFLOWS, TAG_INFERRED_DATAFLOWS_DEFAULT);
 		preferences.setValue(TAG_RUNTIME_TYPES, TAG_RUNTIME_TYPES_DEFAULT);
 		preferences.setValue(REWRITE_ARRAY_COMPONENTS, REWRITE_ARRAY_COMPONENTS_DEFAULT);
@@ -421,10 +862,23 @@ public class PointsToPreferences extends AbstractPreferenceInitializer {
 			runPointsToAnalysisValue = preferences.getBoolean(RUN_POINTS_TO_ANALYSIS);
 			analysisModeValue = preferences.getString(POINTS_TO_ANALYSIS_MODE);
 			frontierAnalysisModeValue = preferences.getString(POINTS_TO_ANALYSIS_FRONTIER_MODE);
+			pointsToSetModeValue = preferences.getString(POINTS_TO_SET_MODE);
 			arrayComponentTrackingValue = preferences.getBoolean(ARRAY_COMPONENT_TRACKING);
+			fieldSensitivityValue = preferences.getBoolean(FIELD_SENSITIVITY);
+			heapCloningValue = preferences.getBoolean(HEAP_CLONING);
+			heapCloningDepthValue = preferences.getInt(HEAP_CLONING_DEPTH);
+			incrementalAnalysisValue = preferences.getBoolean(INCREMENTAL_ANALYSIS);
+			snapshotResultsValue = preferences.getBoolean(SNAPSHOT_RESULTS);
+			aliasOracleValue = preferences.getBoolean(ALIAS_ORACLE);
+			addressIndexValue = preferences.getBoolean(ADDRESS_INDEX);
+			indexedFrontierValue = preferences.getBoolean(INDEXED_FRONTIER);
 			generalLoggingValue = preferences.getBoolean(GENERAL_LOGGING);
 			collapseSCCsValue = preferences.getBoolean(COLLAPSE_SCCS);
+			differencePropagationValue = preferences.getBoolean(DIFFERENCE_PROPAGATION);
+			onlineCycleDetectionValue = preferences.getBoolean(ONLINE_CYCLE_DETECTION);
+			workerThreadsValue = preferences.getInt(WORKER_THREADS);
 			tagAliasesValue = preferences.getBoolean(TAG_ALIASES);
+			deferredAliasTaggingValue = preferences.getBoolean(DEFERRED_ALIAS_TAGGING);
 			tagInferredDataflowsValue = preferences.getBoolean(TAG_INFERRED_DATAFLOWS);
 			rewriteArrayComponentsValue = preferences.getBoolean(REWRITE_ARRAY_COMPONENTS);
 			disposeResourcesValue = preferences.getBoolean(DISPOSE_RESOURCES);
@@ -0,0 +1,140 @@
+package com.ensoftcorp.open.pointsto.utilities;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.ensoftcorp.atlas.core.db.graph.Edge;
+import com.ensoftcorp.atlas.core.db.graph.Node;
+import com.ensoftcorp.atlas.core.db.set.AtlasSet;
+import com.ensoftcorp.atlas.core.query.Query;
+import com.ensoftcorp.atlas.core.script.Common;
+import com.ensoftcorp.atlas.core.xcsg.XCSG;
+
+/**
+ * A precomputed adjacency of array references and array accesses. The
+ * ArrayIdentityFor edges are evaluated once and stored in compressed sparse
+ * row form over node ids, so looking up the reads or writes of an array
+ * reference, or the references of an array access, is an array slice instead
+ * of a new universe query.
+ *
+ * The lists returned by this index are views and must not be modified.
+ *
+ * @author Ben Holland
+ */
+public class ArrayAccessIndex {
+
+	private final NodeIndex nodeIndex = new NodeIndex();
+
+	/**
+	 * Array read accesses of each array reference
+	 */
+	private final int[] readOffsets;
+	private final List<Node> reads;
+
+	/**
+	 * Array write accesses of each array reference
+	 */
+	private final int[] writeOffsets;
+	private final List<Node> writes;
+
+	/**
+	 * Array references of each array access
+	 */
+	private final int[] referenceOffsets;
+	private final List<Node> references;
+
+	public ArrayAccessIndex(IProgressMonitor monitor) {
+		AtlasSet<Edge> arrayIdentityForEdges = Common.resolve(monitor, Query.universe().edges(XCSG.ArrayIdentityFor)).eval().edges();
+		for(Edge edge : arrayIdentityForEdges){
+			nodeIndex.getOrCreateId(edge.from());
+			nodeIndex.getOrCreateId(edge.to());
+		}
+		int size = nodeIndex.size();
+
+		// count the degree of each node
+		readOffsets = new int[size + 1];
+		writeOffsets = new int[size + 1];
+		referenceOffsets = new int[size + 1];
+		for(Edge edge : arrayIdentityForEdges){
+			int reference = nodeIndex.getId(edge.from());
+			Node access = edge.to();
+			if(access.taggedWith(XCSG.ArrayRead)){
+				readOffsets[reference + 1]++;
+			}
+			if(access.taggedWith(XCSG.ArrayWrite)){
+				writeOffsets[reference + 1]++;
+			}
+			referenceOffsets[nodeIndex.getId(access) + 1]++;
+		}
+		for(int id=0; id<size; id++){
+			readOffsets[id + 1] += readOffsets[id];
+			writeOffsets[id + 1] += writeOffsets[id];
+			referenceOffsets[id + 1] += referenceOffsets[id];
+		}
+
+		// fill each row
+		Node[] readTargets = new Node[readOffsets[size]];
+		Node[] writeTargets = new Node[writeOffsets[size]];
+		Node[] referenceTargets = new Node[referenceOffsets[size]];
+		int[] readFill = Arrays.copyOf(readOffsets, size);
+		int[] writeFill = Arrays.copyOf(writeOffsets, size);
+		int[] referenceFill = Arrays.copyOf(referenceOffsets, size);
+		for(Edge edge : arrayIdentityForEdges){
+			Node reference = edge.from();
+			Node access = edge.to();
+			int referenceId = nodeIndex.getId(reference);
+			if(access.taggedWith(XCSG.ArrayRead)){
+				readTargets[readFill[referenceId]++] = access;
+			}
+			if(access.taggedWith(XCSG.ArrayWrite)){
+				writeTargets[writeFill[referenceId]++] = access;
+			}
+			referenceTargets[referenceFill[nodeIndex.getId(access)]++] = reference;
+		}
+		reads = Arrays.asList(readTargets);
+		writes = Arrays.asList(writeTargets);
+		references = Arrays.asList(referenceTargets);
+	}
+
+	/**
+	 * Given an array reference, returns the corresponding array read accesses
+	 *
+	 * @param arrayReference
+	 * @return
+	 */
+	public List<Node> getArrayReadAccesses(Node arrayReference) {
+		return getRow(readOffsets, reads, arrayReference);
+	}
+
+	/**
+	 * Given an array reference, returns the corresponding array write accesses
+	 *
+	 * @param arrayReference
+	 * @return
+	 */
+	public List<Node> getArrayWriteAccesses(Node arrayReference) {
+		return getRow(writeOffsets, writes, arrayReference);
+	}
+
+	/**
+	 * Given an array access, returns the corresponding array references
+	 *
+	 * @param arrayAccess
+	 * @return
+	 */
+	public List<Node> getArrayReferences(Node arrayAccess) {
+		return getRow(referenceOffsets, references, arrayAccess);
+	}
+
+	private List<Node> getRow(int[] offsets, List<Node> targets, Node node) {
+		int id = nodeIndex.getId(node);
+		if(id == -1){
+			return Collections.emptyList();
+		}
+		return targets.subList(offsets[id], offsets[id + 1]);
+	}
+
+}
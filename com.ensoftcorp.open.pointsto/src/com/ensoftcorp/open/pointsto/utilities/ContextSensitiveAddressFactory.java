@@ -0,0 +1,149 @@
+package com.ensoftcorp.open.pointsto.utilities;
+
+import java.util.Arrays;
+
+/**
+ * An address factory that can also hand out heap cloned addresses. A cloned
+ * address stands for the objects of a base address (an allocation site) that
+ * were created in a given context. Each (base address, context) pair is given
+ * exactly one address, so cloning the same base address in the same context
+ * twice returns the same address.
+ *
+ * Addresses that are not clones are their own base address and have the empty
+ * context.
+ *
+ * @author Ben Holland
+ */
+public class ContextSensitiveAddressFactory extends AddressFactory {
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	/**
+	 * The base address and context of each cloned address, indexed by address
+	 */
+	private int[] baseAddresses = new int[DEFAULT_CAPACITY];
+	private int[] contexts = new int[DEFAULT_CAPACITY];
+	private boolean[] clones = new boolean[DEFAULT_CAPACITY];
+
+	/**
+	 * Open addressing hash table of (base address, context) pairs to cloned
+	 * addresses, slots with a key of -1 are empty
+	 */
+	private long[] keys;
+	private int[] values;
+	private int cloneCount = 0;
+
+	public ContextSensitiveAddressFactory() {
+		keys = new long[DEFAULT_CAPACITY];
+		Arrays.fill(keys, -1L);
+		values = new int[DEFAULT_CAPACITY];
+	}
+
+	/**
+	 * Returns the address of the given base address in the given context,
+	 * creating a new cloned address if the pair has not been seen before
+	 *
+	 * @param baseAddress
+	 * @param context
+	 * @return
+	 */
+	public int getAddress(int baseAddress, int context) {
+		if(context == ContextTable.EMPTY_CONTEXT){
+			return baseAddress;
+		}
+		long key = ((long) baseAddress << 32) | (context & 0xFFFFFFFFL);
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+		while(keys[slot] != -1L){
+			if(keys[slot] == key){
+				return values[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		int address = getNewAddress();
+		ensureCapacity(address + 1);
+		baseAddresses[address] = baseAddress;
+		contexts[address] = context;
+		clones[address] = true;
+		keys[slot] = key;
+		values[slot] = address;
+		cloneCount++;
+		if(cloneCount * 2 > keys.length){
+			rehash();
+		}
+		return address;
+	}
+
+	/**
+	 * Returns true if the given address is a cloned address
+	 *
+	 * @param address
+	 * @return
+	 */
+	public boolean isClone(int address) {
+		return address < clones.length && clones[address];
+	}
+
+	/**
+	 * Returns the base address of the given address
+	 *
+	 * @param address
+	 * @return
+	 */
+	public int getBaseAddress(int address) {
+		return isClone(address) ? baseAddresses[address] : address;
+	}
+
+	/**
+	 * Returns the context of the given address
+	 *
+	 * @param address
+	 * @return
+	 */
+	public int getContext(int address) {
+		return isClone(address) ? contexts[address] : ContextTable.EMPTY_CONTEXT;
+	}
+
+	/**
+	 * Returns the number of cloned addresses
+	 *
+	 * @return
+	 */
+	public int getCloneCount() {
+		return cloneCount;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if(capacity > clones.length){
+			int newCapacity = Math.max(capacity, clones.length * 2);
+			baseAddresses = Arrays.copyOf(baseAddresses, newCapacity);
+			contexts = Arrays.copyOf(contexts, newCapacity);
+			clones = Arrays.copyOf(clones, newCapacity);
+		}
+	}
+
+	private void rehash() {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new long[oldKeys.length * 2];
+		Arrays.fill(keys, -1L);
+		values = new int[oldValues.length * 2];
+		int mask = keys.length - 1;
+		for(int i=0; i<oldKeys.length; i++){
+			if(oldKeys[i] != -1L){
+				int slot = hash(oldKeys[i]) & mask;
+				while(keys[slot] != -1L){
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	private static int hash(long key) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+}
@@ -0,0 +1,194 @@
+package com.ensoftcorp.open.pointsto.utilities;
+
+import java.util.Arrays;
+
+/**
+ * An interning table of k-limited context strings. A context is a sequence of
+ * at most k integer elements (for example call site node ids), most recent
+ * element first. Each distinct context is stored once as a (head element,
+ * tail context) pair and identified by a compact integer id, so contexts can
+ * be compared by id and memory stays bounded by the number of distinct
+ * contexts actually reached.
+ *
+ * The empty context always has the id 0.
+ *
+ * @author Ben Holland
+ */
+public class ContextTable {
+
+	public static final int EMPTY_CONTEXT = 0;
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	private final int k;
+
+	/**
+	 * The most recent element, the remaining context and the length of each context
+	 */
+	private int[] heads;
+	private int[] tails;
+	private byte[] lengths;
+	private int size = 1;
+
+	/**
+	 * Open addressing hash table of (head, tail) pairs to context ids, 0 marks
+	 * an empty slot since the empty context is never stored in the table
+	 */
+	private int[] slots;
+
+	/**
+	 * Creates a new table of contexts of at most k elements
+	 *
+	 * @param k
+	 */
+	public ContextTable(int k) {
+		if(k < 0 || k > Byte.MAX_VALUE){
+			throw new IllegalArgumentException("Unsupported context depth: " + k);
+		}
+		this.k = k;
+		heads = new int[DEFAULT_CAPACITY];
+		tails = new int[DEFAULT_CAPACITY];
+		lengths = new byte[DEFAULT_CAPACITY];
+		slots = new int[DEFAULT_CAPACITY * 2];
+	}
+
+	/**
+	 * Returns the maximum number of elements of a context
+	 *
+	 * @return
+	 */
+	public int getDepth() {
+		return k;
+	}
+
+	/**
+	 * Returns the context formed by prepending the given element to the given
+	 * context, dropping the oldest elements to keep at most k elements
+	 *
+	 * @param context
+	 * @param element
+	 * @return
+	 */
+	public int push(int context, int element) {
+		if(k == 0){
+			return EMPTY_CONTEXT;
+		}
+		return intern(element, truncate(context, k - 1));
+	}
+
+	/**
+	 * Returns the most recent element of the given non-empty context
+	 *
+	 * @param context
+	 * @return
+	 */
+	public int getHead(int context) {
+		checkNonEmpty(context);
+		return heads[context];
+	}
+
+	/**
+	 * Returns the given non-empty context without its most recent element
+	 *
+	 * @param context
+	 * @return
+	 */
+	public int getTail(int context) {
+		checkNonEmpty(context);
+		return tails[context];
+	}
+
+	/**
+	 * Returns the number of elements of the given context
+	 *
+	 * @param context
+	 * @return
+	 */
+	public int getLength(int context) {
+		return lengths[context];
+	}
+
+	/**
+	 * Returns the elements of the given context, most recent element first
+	 *
+	 * @param context
+	 * @return
+	 */
+	public int[] getElements(int context) {
+		int[] elements = new int[lengths[context]];
+		for(int i=0; i<elements.length; i++){
+			elements[i] = heads[context];
+			context = tails[context];
+		}
+		return elements;
+	}
+
+	/**
+	 * Returns the number of interned contexts, including the empty context
+	 *
+	 * @return
+	 */
+	public int size() {
+		return size;
+	}
+
+	private int truncate(int context, int length) {
+		if(lengths[context] <= length){
+			return context;
+		}
+		if(length == 0){
+			return EMPTY_CONTEXT;
+		}
+		return intern(heads[context], truncate(tails[context], length - 1));
+	}
+
+	private int intern(int head, int tail) {
+		int mask = slots.length - 1;
+		int slot = hash(head, tail) & mask;
+		int id;
+		while((id = slots[slot]) != EMPTY_CONTEXT){
+			if(heads[id] == head && tails[id] == tail){
+				return id;
+			}
+			slot = (slot + 1) & mask;
+		}
+		if(size == heads.length){
+			heads = Arrays.copyOf(heads, size * 2);
+			tails = Arrays.copyOf(tails, size * 2);
+			lengths = Arrays.copyOf(lengths, size * 2);
+		}
+		id = size++;
+		heads[id] = head;
+		tails[id] = tail;
+		lengths[id] = (byte) (lengths[tail] + 1);
+		slots[slot] = id;
+		if(size * 2 > slots.length){
+			rehash();
+		}
+		return id;
+	}
+
+	private void rehash() {
+		slots = new int[slots.length * 2];
+		int mask = slots.length - 1;
+		for(int id=1; id<size; id++){
+			int slot = hash(heads[id], tails[id]) & mask;
+			while(slots[slot] != EMPTY_CONTEXT){
+				slot = (slot + 1) & mask;
+			}
+			slots[slot] = id;
+		}
+	}
+
+	private static int hash(int head, int tail) {
+		int hash = head * 0x9E3779B9 + tail;
+		return hash ^ (hash >>> 16);
+	}
+
+	private void checkNonEmpty(int context) {
+		if(context == EMPTY_CONTEXT){
+			throw new IllegalArgumentException("The empty context has no elements");
+		}
+	}
+
+}
@@ -0,0 +1,141 @@
+package com.ensoftcorp.open.pointsto.utilities;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.ensoftcorp.atlas.core.db.graph.Address;
+import com.ensoftcorp.atlas.core.db.graph.Edge;
+import com.ensoftcorp.atlas.core.db.graph.Graph;
+import com.ensoftcorp.atlas.core.db.graph.GraphElement.NodeDirection;
+import com.ensoftcorp.atlas.core.db.graph.Node;
+import com.ensoftcorp.atlas.core.db.set.AtlasHashSet;
+import com.ensoftcorp.atlas.core.db.set.AtlasSet;
+import com.ensoftcorp.atlas.core.query.Attr;
+import com.ensoftcorp.atlas.core.query.Query;
+import com.ensoftcorp.atlas.core.script.Common;
+import com.ensoftcorp.atlas.core.xcsg.XCSG;
+import com.ensoftcorp.open.java.commons.analysis.CommonQueries;
+
+import net.ontopia.utils.CompactHashMap;
+
+/**
+ * An index for resolving dynamic dispatches during points-to propagation
+ * without re-evaluating universe queries for every new receiver type.
+ *
+ * The candidate interprocedural data flow edges of each callsite and the
+ * signature elements (parameters, identity and return value) of each method
+ * are indexed up front. The dispatch target of a (receiver type, method
+ * signature) pair is resolved once and then memoized.
+ *
+ * @author Ben Holland
+ */
+public class DispatchIndex {
+
+	private static final AtlasSet<Node> EMPTY_NODES = new AtlasHashSet<Node>();
+	private static final AtlasSet<Edge> EMPTY_EDGES = new AtlasHashSet<Edge>();
+
+	/**
+	 * The memoized dispatch targets of each method signature for each receiver type
+	 */
+	private final CompactHashMap<Node,CompactHashMap<Node,AtlasSet<Node>>> signatureToTargets = new CompactHashMap<Node,CompactHashMap<Node,AtlasSet<Node>>>();
+
+	/**
+	 * The parameter, identity and return value nodes of each method
+	 */
+	private final CompactHashMap<Node,AtlasSet<Node>> methodToSignatureNodes = new CompactHashMap<Node,AtlasSet<Node>>();
+
+	/**
+	 * The interprocedural data flow edges of each callsite id
+	 */
+	private final CompactHashMap<Address,AtlasSet<Edge>> callsiteToEdges = new CompactHashMap<Address,AtlasSet<Edge>>();
+
+	private long resolvedTargets = 0;
+
+	public DispatchIndex(IProgressMonitor monitor) {
+		// index the signature elements of each method
+		Graph containsGraph = Common.resolve(monitor, Query.universe().edges(XCSG.Contains)).eval();
+		AtlasSet<Node> signatureNodes = Common.resolve(monitor, Query.universe().nodes(XCSG.Parameter, XCSG.Identity, XCSG.ReturnValue)).eval().nodes();
+		for(Node signatureNode : signatureNodes){
+			for(Edge containsEdge : containsGraph.edges(signatureNode, NodeDirection.IN)){
+				Node method = containsEdge.from();
+				AtlasSet<Node> methodSignatureNodes = methodToSignatureNodes.get(method);
+				if(methodSignatureNodes == null){
+					methodSignatureNodes = new AtlasHashSet<Node>();
+					methodToSignatureNodes.put(method, methodSignatureNodes);
+				}
+				methodSignatureNodes.add(signatureNode);
+			}
+		}
+
+		// index the data flow edges of each callsite
+		// ASSERT: only DF_INTERPROCEDURAL edges have a CALL_SITE_ID
+		AtlasSet<Edge> interproceduralEdges = Common.resolve(monitor, Query.universe().edges(XCSG.InterproceduralDataFlow)).eval().edges();
+		for(Edge interproceduralEdge : interproceduralEdges){
+			Address csid = (Address) interproceduralEdge.getAttr(Attr.Edge.CALL_SITE_ID);
+			if(csid != null){
+				AtlasSet<Edge> callsiteEdges = callsiteToEdges.get(csid);
+				if(callsiteEdges == null){
+					callsiteEdges = new AtlasHashSet<Edge>();
+					callsiteToEdges.put(csid, callsiteEdges);
+				}
+				callsiteEdges.add(interproceduralEdge);
+			}
+		}
+	}
+
+	/**
+	 * Returns the methods that a callsite invoking the given method signature
+	 * dispatches to for a receiver of the given runtime type
+	 *
+	 * @param receiverType
+	 * @param methodSignature
+	 * @return
+	 */
+	public AtlasSet<Node> getDispatchTargets(Node receiverType, Node methodSignature){
+		CompactHashMap<Node,AtlasSet<Node>> typeToTargets = signatureToTargets.get(methodSignature);
+		if(typeToTargets == null){
+			typeToTargets = new CompactHashMap<Node,AtlasSet<Node>>();
+			signatureToTargets.put(methodSignature, typeToTargets);
+		}
+		AtlasSet<Node> targets = typeToTargets.get(receiverType);
+		if(targets == null){
+			targets = new AtlasHashSet<Node>(CommonQueries.dynamicDispatch(Common.toQ(receiverType), Common.toQ(methodSignature)).eval().nodes());
+			typeToTargets.put(receiverType, targets);
+			resolvedTargets++;
+		}
+		return targets;
+	}
+
+	/**
+	 * Returns the parameter, identity and return value nodes of the given
+	 * method
+	 *
+	 * @param method
+	 * @return
+	 */
+	public AtlasSet<Node> getSignatureNodes(Node method){
+		AtlasSet<Node> signatureNodes = methodToSignatureNodes.get(method);
+		return signatureNodes != null ? signatureNodes : EMPTY_NODES;
+	}
+
+	/**
+	 * Returns the interprocedural data flow edges of the given callsite id
+	 *
+	 * @param csid
+	 * @return
+	 */
+	public AtlasSet<Edge> getCallsiteEdges(Address csid){
+		AtlasSet<Edge> callsiteEdges = callsiteToEdges.get(csid);
+		return callsiteEdges != null ? callsiteEdges : EMPTY_EDGES;
+	}
+
+	/**
+	 * Returns the number of (receiver type, method signature) pairs that have
+	 * been resolved
+	 *
+	 * @return
+	 */
+	public long getResolvedTargetCount(){
+		return resolvedTargets;
+	}
+
+}
@@ -0,0 +1,228 @@
+package com.ensoftcorp.open.pointsto.utilities;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.ensoftcorp.atlas.core.db.graph.Edge;
+import com.ensoftcorp.atlas.core.db.graph.Graph;
+import com.ensoftcorp.atlas.core.db.graph.GraphElement.NodeDirection;
+import com.ensoftcorp.atlas.core.db.graph.Node;
+import com.ensoftcorp.atlas.core.db.set.AtlasHashSet;
+import com.ensoftcorp.atlas.core.db.set.AtlasSet;
+import com.ensoftcorp.atlas.core.query.Query;
+import com.ensoftcorp.atlas.core.script.Common;
+import com.ensoftcorp.atlas.core.xcsg.XCSG;
+
+import net.ontopia.utils.CompactHashMap;
+
+/**
+ * An index of the instance field accesses in a data flow graph for field
+ * sensitive points-to analysis. A field write is a data flow edge into an
+ * instance variable from an access node and a field read is a data flow edge
+ * out of an instance variable to an access node. The base references of an
+ * access are the references it is accessed through (InstanceVariableAccessed
+ * edges).
+ *
+ * Field data flow edges whose access node has no base reference can not be
+ * modeled per object and are not indexed, so they should be left in the data
+ * flow graph.
+ *
+ * @author Ben Holland
+ */
+public class FieldAccessIndex {
+
+	private static final AtlasSet<Node> EMPTY_NODES = new AtlasHashSet<Node>();
+
+	/**
+	 * The indexed data flow edges into and out of instance fields
+	 */
+	private final AtlasSet<Edge> fieldDataFlowEdges = new AtlasHashSet<Edge>();
+
+	private final CompactHashMap<Node,AtlasSet<Node>> writeToFields = new CompactHashMap<Node,AtlasSet<Node>>();
+	private final CompactHashMap<Node,AtlasSet<Node>> fieldToWrites = new CompactHashMap<Node,AtlasSet<Node>>();
+	private final CompactHashMap<Node,AtlasSet<Node>> readToFields = new CompactHashMap<Node,AtlasSet<Node>>();
+	private final CompactHashMap<Node,AtlasSet<Node>> fieldToReads = new CompactHashMap<Node,AtlasSet<Node>>();
+	private final CompactHashMap<Node,AtlasSet<Node>> accessToBases = new CompactHashMap<Node,AtlasSet<Node>>();
+	private final CompactHashMap<Node,AtlasSet<Node>> baseToWrites = new CompactHashMap<Node,AtlasSet<Node>>();
+	private final CompactHashMap<Node,AtlasSet<Node>> baseToReads = new CompactHashMap<Node,AtlasSet<Node>>();
+
+	public FieldAccessIndex(Graph dfGraph, IProgressMonitor monitor) {
+		Graph accessedGraph = Common.resolve(monitor, Query.universe().edges(XCSG.InstanceVariableAccessed)).eval();
+		AtlasSet<Node> fields = Common.resolve(monitor, Query.universe().nodes(XCSG.InstanceVariable)).eval().nodes();
+		for(Node field : fields){
+			for(Edge writeEdge : dfGraph.edges(field, NodeDirection.IN)){
+				Node write = writeEdge.from();
+				if(indexBases(accessedGraph, write)){
+					fieldDataFlowEdges.add(writeEdge);
+					put(writeToFields, write, field);
+					put(fieldToWrites, field, write);
+					for(Node base : accessToBases.get(write)){
+						put(baseToWrites, base, write);
+					}
+				}
+			}
+			for(Edge readEdge : dfGraph.edges(field, NodeDirection.OUT)){
+				Node read = readEdge.to();
+				if(indexBases(accessedGraph, read)){
+					fieldDataFlowEdges.add(readEdge);
+					put(readToFields, read, field);
+					put(fieldToReads, field, read);
+					for(Node base : accessToBases.get(read)){
+						put(baseToReads, base, read);
+					}
+				}
+			}
+		}
+	}
+
+	private boolean indexBases(Graph accessedGraph, Node access) {
+		if(accessToBases.containsKey(access)){
+			return true;
+		}
+		AtlasSet<Edge> accessedEdges = accessedGraph.edges(access, NodeDirection.IN);
+		if(accessedEdges.isEmpty()){
+			return false;
+		}
+		for(Edge accessedEdge : accessedEdges){
+			put(accessToBases, access, accessedEdge.from());
+		}
+		return true;
+	}
+
+	private static void put(CompactHashMap<Node,AtlasSet<Node>> map, Node key, Node value) {
+		AtlasSet<Node> values = map.get(key);
+		if(values == null){
+			values = new AtlasHashSet<Node>();
+			map.put(key, values);
+		}
+		values.add(value);
+	}
+
+	private static AtlasSet<Node> get(CompactHashMap<Node,AtlasSet<Node>> map, Node key) {
+		AtlasSet<Node> values = map.get(key);
+		return values != null ? values : EMPTY_NODES;
+	}
+
+	/**
+	 * Returns the data flow edges into and out of instance fields that are
+	 * modeled per object
+	 *
+	 * @return
+	 */
+	public AtlasSet<Edge> getFieldDataFlowEdges() {
+		return fieldDataFlowEdges;
+	}
+
+	/**
+	 * Returns true if the given node is a field write access
+	 *
+	 * @param node
+	 * @return
+	 */
+	public boolean isFieldWrite(Node node) {
+		return writeToFields.containsKey(node);
+	}
+
+	/**
+	 * Returns true if the given node is a base reference of a field access
+	 *
+	 * @param node
+	 * @return
+	 */
+	public boolean isBaseReference(Node node) {
+		return baseToWrites.containsKey(node) || baseToReads.containsKey(node);
+	}
+
+	/**
+	 * Returns true if the given node is a base reference of a field read
+	 *
+	 * @param node
+	 * @return
+	 */
+	public boolean isFieldReadBaseReference(Node node) {
+		return baseToReads.containsKey(node);
+	}
+
+	/**
+	 * Returns the base references of the field reads
+	 *
+	 * @return
+	 */
+	public AtlasSet<Node> getFieldReadBaseReferences() {
+		AtlasSet<Node> bases = new AtlasHashSet<Node>();
+		for(Node base : baseToReads.keySet()){
+			bases.add(base);
+		}
+		return bases;
+	}
+
+	/**
+	 * Given a field write access, returns the fields it writes to
+	 *
+	 * @param write
+	 * @return
+	 */
+	public AtlasSet<Node> getWrittenFields(Node write) {
+		return get(writeToFields, write);
+	}
+
+	/**
+	 * Given a field read access, returns the fields it reads from
+	 *
+	 * @param read
+	 * @return
+	 */
+	public AtlasSet<Node> getReadFields(Node read) {
+		return get(readToFields, read);
+	}
+
+	/**
+	 * Given a field, returns the write accesses of the field
+	 *
+	 * @param field
+	 * @return
+	 */
+	public AtlasSet<Node> getFieldWrites(Node field) {
+		return get(fieldToWrites, field);
+	}
+
+	/**
+	 * Given a field, returns the read accesses of the field
+	 *
+	 * @param field
+	 * @return
+	 */
+	public AtlasSet<Node> getFieldReads(Node field) {
+		return get(fieldToReads, field);
+	}
+
+	/**
+	 * Given a field access, returns the base references it is accessed through
+	 *
+	 * @param access
+	 * @return
+	 */
+	public AtlasSet<Node> getBaseReferences(Node access) {
+		return get(accessToBases, access);
+	}
+
+	/**
+	 * Given a base reference, returns the field writes accessed through it
+	 *
+	 * @param base
+	 * @return
+	 */
+	public AtlasSet<Node> getBaseFieldWrites(Node base) {
+		return get(baseToWrites, base);
+	}
+
+	/**
+	 * Given a base reference, returns the field reads accessed through it
+	 *
+	 * @param base
+	 * @return
+	 */
+	public AtlasSet<Node> getBaseFieldReads(Node base) {
+		return get(baseToReads, base);
+	}
+
+}
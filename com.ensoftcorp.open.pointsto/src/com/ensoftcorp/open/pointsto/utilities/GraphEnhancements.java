@@ -13,6 +13,7 @@ import com.ensoftcorp.atlas.core.query.Query;
 import com.ensoftcorp.atlas.core.script.Common;
 import com.ensoftcorp.atlas.core.xcsg.XCSG;
 import com.ensoftcorp.open.pointsto.analysis.PointsTo;
+import com.ensoftcorp.open.pointsto.common.AliasTags;
 import com.ensoftcorp.open.pointsto.common.PointsToAnalysis;
 import com.ensoftcorp.open.pointsto.log.Log;
 
@@ -51,6 +52,7 @@ public class GraphEnhancements {
 	
 	public static long rewriteArrayComponents(PointsTo pointsTo){
 		arrayNumber = 1;
+		rewrittenArrayComponents = new AtlasHashSet<Node>();
 		// first delete all array components
 		AtlasSet<Node> arrayComponents = Common.resolve(new NullProgressMonitor(), Query.universe().nodes(XCSG.ArrayComponents)).eval().nodes();
 		for(Node arrayComponent : arrayComponents){
@@ -98,17 +100,19 @@ public class GraphEnhancements {
 				Graph.U.addEdge(arrayReadEdge);
 			}
 		}
-		return arrayNumber-1;
+		int numArrayComponents = arrayNumber-1;
+		rewrittenArrayComponents = null;
+		return numArrayComponents;
 	}
 	
 	private static int arrayNumber = 1;
+	private static AtlasSet<Node> rewrittenArrayComponents = null;
 	
 	private static Node findOrCreateArrayComponent(PointsTo pointsTo, Integer address){
-		Q addressedObjects = Common.toQ(pointsTo.getAddressedNodes());
-		AtlasSet<Node> arrayComponents = addressedObjects.nodes(XCSG.ArrayComponents).eval().nodes();
-		for(Node arrayComponent : arrayComponents){
-			if(pointsTo.getAliasAddresses(arrayComponent).contains(address)){
-				return arrayComponent;
+		// enumerate the nodes pointing to the address instead of every addressed array component
+		for(Node addressedNode : pointsTo.getAddressedNodes(address)){
+			if(rewrittenArrayComponents.contains(addressedNode)){
+				return addressedNode;
 			}
 		}
 		// no array component exists for address, so create array component node
@@ -116,11 +120,12 @@ public class GraphEnhancements {
 		arrayComponent.tag(XCSG.ArrayComponents);
 		arrayComponent.tag(Index.INDEX_VIEW_TAG);
 		arrayComponent.putAttr(XCSG.name, "@[" + (arrayNumber++) + "]");
+		rewrittenArrayComponents.add(arrayComponent);
 		if(address == 0){
 			Log.warning("Array component " + arrayComponent.address().toAddressString() + " is a null alias.");
 			arrayComponent.tag(PointsToAnalysis.NULL_ALIAS);
 		} else {
-			arrayComponent.tag(PointsToAnalysis.ALIAS_PREFIX + address);
+			arrayComponent.tag(AliasTags.getAliasTag(address));
 		}
 		// need to update points to set for consistency, even though points to set
 		// for array component is only ever 1 address
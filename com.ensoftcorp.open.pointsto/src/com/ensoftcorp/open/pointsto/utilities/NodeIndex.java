@@ -0,0 +1,145 @@
+package com.ensoftcorp.open.pointsto.utilities;
+
+import java.util.Arrays;
+
+import com.ensoftcorp.atlas.core.db.graph.Node;
+
+/**
+ * A dense index assigning each node a compact integer id. Ids are assigned in
+ * insertion order starting at 0, so they can be used directly as indexes into
+ * array backed side tables.
+ *
+ * @author Ben Holland
+ */
+public class NodeIndex {
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	/**
+	 * Open addressing hash table of nodes to ids
+	 */
+	private Node[] keys;
+	private int[] values;
+
+	/**
+	 * Mapping of ids to nodes
+	 */
+	private Node[] nodes;
+
+	private int size = 0;
+
+	/**
+	 * Creates a new empty node index
+	 */
+	public NodeIndex() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new empty node index with the given initial capacity
+	 *
+	 * @param initialCapacity
+	 */
+	public NodeIndex(int initialCapacity) {
+		int capacity = Integer.highestOneBit(Math.max(initialCapacity, 16) * 2 - 1);
+		keys = new Node[capacity];
+		values = new int[capacity];
+		nodes = new Node[Math.max(initialCapacity, 16)];
+	}
+
+	/**
+	 * Returns the id of the given node or -1 if the node has not been indexed
+	 *
+	 * @param node
+	 * @return
+	 */
+	public int getId(Node node) {
+		int mask = keys.length - 1;
+		int slot = hash(node) & mask;
+		Node key;
+		while((key = keys[slot]) != null){
+			if(key.equals(node)){
+				return values[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the id of the given node, assigning the next available id if the
+	 * node has not been indexed
+	 *
+	 * @param node
+	 * @return
+	 */
+	public int getOrCreateId(Node node) {
+		int mask = keys.length - 1;
+		int slot = hash(node) & mask;
+		Node key;
+		while((key = keys[slot]) != null){
+			if(key.equals(node)){
+				return values[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		int id = size++;
+		keys[slot] = node;
+		values[slot] = id;
+		if(id == nodes.length){
+			nodes = Arrays.copyOf(nodes, nodes.length * 2);
+		}
+		nodes[id] = node;
+		// keep the load factor at or below 0.5
+		if(size * 2 > keys.length){
+			rehash();
+		}
+		return id;
+	}
+
+	/**
+	 * Returns the node with the given id
+	 *
+	 * @param id
+	 * @return
+	 */
+	public Node getNode(int id) {
+		if(id < 0 || id >= size){
+			throw new IndexOutOfBoundsException("Unknown node id: " + id);
+		}
+		return nodes[id];
+	}
+
+	/**
+	 * Returns the number of indexed nodes, which is also the next id that
+	 * will be assigned
+	 *
+	 * @return
+	 */
+	public int size() {
+		return size;
+	}
+
+	private void rehash() {
+		Node[] newKeys = new Node[keys.length * 2];
+		int[] newValues = new int[values.length * 2];
+		int mask = newKeys.length - 1;
+		for(int id=0; id<size; id++){
+			Node node = nodes[id];
+			int slot = hash(node) & mask;
+			while(newKeys[slot] != null){
+				slot = (slot + 1) & mask;
+			}
+			newKeys[slot] = node;
+			newValues[slot] = id;
+		}
+		keys = newKeys;
+		values = newValues;
+	}
+
+	private static int hash(Node node) {
+		int hash = node.hashCode();
+		return hash ^ (hash >>> 16);
+	}
+
+}
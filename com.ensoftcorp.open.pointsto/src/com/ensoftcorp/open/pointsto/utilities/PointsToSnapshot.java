@@ -0,0 +1,530 @@
+package com.ensoftcorp.open.pointsto.utilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.ensoftcorp.atlas.core.db.graph.Edge;
+import com.ensoftcorp.atlas.core.db.graph.Graph;
+import com.ensoftcorp.atlas.core.db.graph.GraphElement;
+import com.ensoftcorp.atlas.core.db.graph.Node;
+import com.ensoftcorp.atlas.core.db.set.AtlasHashSet;
+import com.ensoftcorp.atlas.core.db.set.AtlasSet;
+import com.ensoftcorp.atlas.core.query.Query;
+import com.ensoftcorp.atlas.core.script.Common;
+import com.ensoftcorp.atlas.core.xcsg.XCSG;
+import com.ensoftcorp.open.pointsto.analysis.PointsTo;
+import com.ensoftcorp.open.pointsto.preferences.PointsToPreferences;
+import com.ensoftcorp.open.pointsto.utilities.set.SparseBitSet;
+
+import net.ontopia.utils.CompactHashMap;
+
+/**
+ * A compact binary snapshot of the solved state of a points-to analysis that
+ * can be saved to disk and reloaded instead of re-solving the analysis when
+ * the program graph has not changed.
+ *
+ * Graph elements are stored once in a node table and an edge table (by their
+ * address strings) and are otherwise referred to by their index in the table.
+ * A snapshot file is laid out as follows (big endian):
+ *
+ * header: magic, version, fingerprint, table and section sizes
+ * node table: the address string of each node
+ * edge table: the address string of each inferred data flow edge
+ * address table: the instantiation node id and type node id of each address (-1 for none)
+ * points-to sets: the node id and the address bitset of each addressed node
+ * array memory models: the address and the component address bitset of each array
+ * inferred data flow nodes: a bitset of node ids
+ *
+ * A bitset is stored as its number of non-empty 64-bit words followed by the
+ * (word index, word) pair of each non-empty word.
+ *
+ * Snapshots are written and read through memory mapped files. The magic
+ * number is written last, so a partially written snapshot is never loaded.
+ *
+ * @author Ben Holland
+ */
+public class PointsToSnapshot {
+
+	private static final int MAGIC = 0x50545331; // PTS1
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4 + 4 + 4 + 4;
+
+	private final Node[] instantiations;
+	private final Node[] types;
+	private final CompactHashMap<Node,SparseBitSet> pointsToSets;
+	private final CompactHashMap<Integer,SparseBitSet> arrayMemoryModels;
+	private final AtlasSet<Node> inferredDataFlowNodes;
+	private final AtlasSet<Edge> inferredDataFlowEdges;
+
+	private PointsToSnapshot(Node[] instantiations, Node[] types, CompactHashMap<Node,SparseBitSet> pointsToSets,
+			CompactHashMap<Integer,SparseBitSet> arrayMemoryModels, AtlasSet<Node> inferredDataFlowNodes, AtlasSet<Edge> inferredDataFlowEdges) {
+		this.instantiations = instantiations;
+		this.types = types;
+		this.pointsToSets = pointsToSets;
+		this.arrayMemoryModels = arrayMemoryModels;
+		this.inferredDataFlowNodes = inferredDataFlowNodes;
+		this.inferredDataFlowEdges = inferredDataFlowEdges;
+	}
+
+	/**
+	 * Returns the number of addresses in the snapshot
+	 * @return
+	 */
+	public int getAddressCount() {
+		return instantiations.length;
+	}
+
+	/**
+	 * Returns the instantiation of the given address or null if the address has no instantiation
+	 * @param address
+	 * @return
+	 */
+	public Node getInstantiation(int address) {
+		return address >= 0 && address < instantiations.length ? instantiations[address] : null;
+	}
+
+	/**
+	 * Returns the type of the given address or null if the address has no type
+	 * @param address
+	 * @return
+	 */
+	public Node getType(int address) {
+		return address >= 0 && address < types.length ? types[address] : null;
+	}
+
+	/**
+	 * Returns the points-to set of each addressed node
+	 * @return
+	 */
+	public CompactHashMap<Node,SparseBitSet> getPointsToSets() {
+		return pointsToSets;
+	}
+
+	/**
+	 * Returns the component addresses of each array address
+	 * @return
+	 */
+	public CompactHashMap<Integer,SparseBitSet> getArrayMemoryModels() {
+		return arrayMemoryModels;
+	}
+
+	/**
+	 * Returns the nodes of the inferred data flow graph
+	 * @return
+	 */
+	public AtlasSet<Node> getInferredDataFlowNodes() {
+		return inferredDataFlowNodes;
+	}
+
+	/**
+	 * Returns the edges of the inferred data flow graph
+	 * @return
+	 */
+	public AtlasSet<Edge> getInferredDataFlowEdges() {
+		return inferredDataFlowEdges;
+	}
+
+	/**
+	 * Computes a fingerprint of the program graph and the preferences that
+	 * the results of the given analysis depend on. The fingerprint is
+	 * independent of the iteration order of the program graph.
+	 *
+	 * @param analysisName
+	 * @param monitor
+	 * @return
+	 */
+	public static long computeFingerprint(String analysisName, IProgressMonitor monitor) {
+		long fingerprint = hash(analysisName);
+		fingerprint = mix(fingerprint, PointsToPreferences.isArrayComponentTrackingEnabled() ? 1 : 0);
+		fingerprint = mix(fingerprint, PointsToPreferences.isTrackPrimitivesEnabled() ? 1 : 0);
+		fingerprint = mix(fingerprint, PointsToPreferences.isFieldSensitivityEnabled() ? 1 : 0);
+		fingerprint = mix(fingerprint, PointsToPreferences.isHeapCloningEnabled() ? PointsToPreferences.getHeapCloningDepth() : -1);
+		fingerprint = mix(fingerprint, PointsToPreferences.isCollapsingSCCsEnabled() ? 1 : 0);
+
+		// array components are rewritten after the analysis and are not part of the fingerprint
+		Graph dfGraph = Common.resolve(monitor, Query.universe().edges(XCSG.DataFlow_Edge)).eval();
+		long nodes = 0;
+		long nodeSum = 0;
+		for(Node node : Common.resolve(monitor, Query.universe().nodes(XCSG.DataFlow_Node, XCSG.Type)).eval().nodes()){
+			if(!node.taggedWith(XCSG.ArrayComponents)){
+				nodes++;
+				nodeSum += mix(0, hash(node.address().toAddressString()));
+			}
+		}
+		long edges = 0;
+		long edgeSum = 0;
+		for(Edge edge : dfGraph.edges()){
+			if(!edge.from().taggedWith(XCSG.ArrayComponents) && !edge.to().taggedWith(XCSG.ArrayComponents)){
+				edges++;
+				edgeSum += mix(0, hash(edge.address().toAddressString()));
+			}
+		}
+		fingerprint = mix(fingerprint, nodes);
+		fingerprint = mix(fingerprint, nodeSum);
+		fingerprint = mix(fingerprint, edges);
+		fingerprint = mix(fingerprint, edgeSum);
+		return fingerprint;
+	}
+
+	/**
+	 * Computes a content fingerprint of each function and type of the program
+	 * graph. The fingerprint of a container covers the data flow nodes it
+	 * contains (but not the nodes of nested functions and types) and their
+	 * outgoing data flow edges, and for a type also its supertypes. A function
+	 * whose body changed has a different fingerprint even if its node was kept.
+	 * Rewritten array components are ignored.
+	 *
+	 * @param monitor
+	 * @return
+	 */
+	public static CompactHashMap<Node,Long> computeContainerFingerprints(IProgressMonitor monitor) {
+		Graph containsGraph = Common.resolve(monitor, Query.universe().edges(XCSG.Contains)).eval();
+		Graph dfGraph = Common.resolve(monitor, Query.universe().edges(XCSG.DataFlow_Edge)).eval();
+		Graph supertypeGraph = Common.resolve(monitor, Query.universe().edges(XCSG.Supertype)).eval();
+		CompactHashMap<Node,Long> fingerprints = new CompactHashMap<Node,Long>();
+		for(Node container : Query.universe().nodes(XCSG.Function, XCSG.Type).eval().nodes()){
+			long nodes = 0;
+			long nodeSum = 0;
+			long edges = 0;
+			long edgeSum = 0;
+			
+			// walk the contents of the container without entering nested functions and types
+			List<Node> stack = new ArrayList<Node>();
+			stack.add(container);
+			while(!stack.isEmpty()){
+				Node node = stack.remove(stack.size() - 1);
+				for(Edge containsEdge : containsGraph.edges(node, GraphElement.NodeDirection.OUT)){
+					Node child = containsEdge.to();
+					if(child.taggedWith(XCSG.Function) || child.taggedWith(XCSG.Type) || child.taggedWith(XCSG.ArrayComponents)){
+						continue;
+					}
+					stack.add(child);
+					if(child.taggedWith(XCSG.DataFlow_Node)){
+						nodes++;
+						Object name = child.getAttr(XCSG.name);
+						nodeSum += mix(hash(child.address().toAddressString()), name != null ? hash(name.toString()) : 0);
+						for(Edge edge : dfGraph.edges(child, GraphElement.NodeDirection.OUT)){
+							if(!edge.to().taggedWith(XCSG.ArrayComponents)){
+								edges++;
+								edgeSum += mix(0, hash(edge.address().toAddressString()));
+							}
+						}
+					}
+				}
+			}
+			if(container.taggedWith(XCSG.Type)){
+				for(Edge edge : supertypeGraph.edges(container, GraphElement.NodeDirection.OUT)){
+					edges++;
+					edgeSum += mix(0, hash(edge.address().toAddressString()));
+				}
+			}
+			long fingerprint = hash(container.address().toAddressString());
+			fingerprint = mix(fingerprint, nodes);
+			fingerprint = mix(fingerprint, nodeSum);
+			fingerprint = mix(fingerprint, edges);
+			fingerprint = mix(fingerprint, edgeSum);
+			fingerprints.put(container, fingerprint);
+		}
+		return fingerprints;
+	}
+
+	/**
+	 * Writes a snapshot of the solved state of the given points-to analysis
+	 * with the given program graph fingerprint to the given file
+	 *
+	 * @param pointsTo
+	 * @param fingerprint
+	 * @param file
+	 * @throws IOException
+	 */
+	public static void save(PointsTo pointsTo, long fingerprint, File file) throws IOException {
+		NodeIndex nodeIndex = new NodeIndex();
+
+		// address table
+		int addressCount = 0;
+		for(Integer address : pointsTo.getAliasAddresses()){
+			addressCount = Math.max(addressCount, address + 1);
+		}
+		int[] instantiationIds = new int[addressCount];
+		int[] typeIds = new int[addressCount];
+		for(int address=0; address<addressCount; address++){
+			Node instantiation = pointsTo.getInstantiation(address);
+			instantiationIds[address] = instantiation != null ? nodeIndex.getOrCreateId(instantiation) : -1;
+			Node type = pointsTo.getType(address);
+			typeIds[address] = type != null ? nodeIndex.getOrCreateId(type) : -1;
+		}
+
+		// points-to sets
+		List<Node> addressedNodes = new ArrayList<Node>();
+		List<long[]> pointsToSets = new ArrayList<long[]>();
+		for(Node addressedNode : pointsTo.getAddressedNodes()){
+			nodeIndex.getOrCreateId(addressedNode);
+			addressedNodes.add(addressedNode);
+			pointsToSets.add(encode(pointsTo.getAliasAddresses(addressedNode)));
+		}
+
+		// array memory models
+		List<Integer> arrays = new ArrayList<Integer>(pointsTo.getArrayMemoryModels());
+		List<long[]> arrayMemoryModels = new ArrayList<long[]>();
+		for(Integer array : arrays){
+			arrayMemoryModels.add(encode(pointsTo.getArrayMemoryModelAliases(array)));
+		}
+
+		// inferred data flow graph
+		Graph inferredDataFlowGraph = pointsTo.getInferredDataFlowGraph();
+		List<Edge> edges = new ArrayList<Edge>();
+		for(Edge edge : inferredDataFlowGraph.edges()){
+			edges.add(edge);
+		}
+		HashSet<Integer> inferredDataFlowNodeIds = new HashSet<Integer>();
+		for(Node node : inferredDataFlowGraph.nodes()){
+			inferredDataFlowNodeIds.add(nodeIndex.getOrCreateId(node));
+		}
+		long[] inferredDataFlowNodes = encode(inferredDataFlowNodeIds);
+
+		// compute the size of the snapshot so it can be written to a single mapping
+		int nodeCount = nodeIndex.size();
+		byte[][] nodeAddresses = new byte[nodeCount][];
+		long size = HEADER_SIZE;
+		for(int id=0; id<nodeCount; id++){
+			nodeAddresses[id] = nodeIndex.getNode(id).address().toAddressString().getBytes(StandardCharsets.UTF_8);
+			size += 4 + nodeAddresses[id].length;
+		}
+		byte[][] edgeAddresses = new byte[edges.size()][];
+		for(int i=0; i<edgeAddresses.length; i++){
+			edgeAddresses[i] = edges.get(i).address().toAddressString().getBytes(StandardCharsets.UTF_8);
+			size += 4 + edgeAddresses[i].length;
+		}
+		size += 8L * addressCount;
+		for(long[] pointsToSet : pointsToSets){
+			size += 4 + sizeOf(pointsToSet);
+		}
+		for(long[] arrayMemoryModel : arrayMemoryModels){
+			size += 4 + sizeOf(arrayMemoryModel);
+		}
+		size += sizeOf(inferredDataFlowNodes);
+		if(size > Integer.MAX_VALUE){
+			throw new IOException("Points-to snapshot of " + size + " bytes exceeds the maximum mapped file size.");
+		}
+
+		File directory = file.getParentFile();
+		if(directory != null){
+			directory.mkdirs();
+		}
+		try(RandomAccessFile output = new RandomAccessFile(file, "rw"); FileChannel channel = output.getChannel()){
+			output.setLength(size);
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			buffer.putInt(0); // magic is written once the snapshot is complete
+			buffer.putInt(VERSION);
+			buffer.putLong(fingerprint);
+			buffer.putInt(nodeCount);
+			buffer.putInt(edgeAddresses.length);
+			buffer.putInt(addressCount);
+			buffer.putInt(addressedNodes.size());
+			buffer.putInt(arrays.size());
+			for(byte[] nodeAddress : nodeAddresses){
+				buffer.putInt(nodeAddress.length);
+				buffer.put(nodeAddress);
+			}
+			for(byte[] edgeAddress : edgeAddresses){
+				buffer.putInt(edgeAddress.length);
+				buffer.put(edgeAddress);
+			}
+			for(int address=0; address<addressCount; address++){
+				buffer.putInt(instantiationIds[address]);
+				buffer.putInt(typeIds[address]);
+			}
+			for(int i=0; i<addressedNodes.size(); i++){
+				buffer.putInt(nodeIndex.getId(addressedNodes.get(i)));
+				put(buffer, pointsToSets.get(i));
+			}
+			for(int i=0; i<arrays.size(); i++){
+				buffer.putInt(arrays.get(i));
+				put(buffer, arrayMemoryModels.get(i));
+			}
+			put(buffer, inferredDataFlowNodes);
+			buffer.force();
+			buffer.putInt(0, MAGIC);
+			buffer.force();
+		}
+	}
+
+	/**
+	 * Reads the snapshot in the given file. Returns null if there is no
+	 * snapshot, if the snapshot was taken of a program graph with a different
+	 * fingerprint, or if the snapshot refers to graph elements that no longer
+	 * exist.
+	 *
+	 * @param file
+	 * @param fingerprint
+	 * @param monitor
+	 * @return
+	 * @throws IOException
+	 */
+	public static PointsToSnapshot load(File file, long fingerprint, IProgressMonitor monitor) throws IOException {
+		if(!file.exists() || file.length() < HEADER_SIZE || file.length() > Integer.MAX_VALUE){
+			return null;
+		}
+		try(RandomAccessFile input = new RandomAccessFile(file, "r"); FileChannel channel = input.getChannel()){
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if(buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != fingerprint){
+				return null;
+			}
+			int nodeCount = buffer.getInt();
+			int edgeCount = buffer.getInt();
+			int addressCount = buffer.getInt();
+			int pointsToSetCount = buffer.getInt();
+			int arrayMemoryModelCount = buffer.getInt();
+
+			// resolve the graph element tables against the program graph
+			Map<String,Integer> nodeAddresses = new HashMap<String,Integer>(nodeCount * 2);
+			for(int id=0; id<nodeCount; id++){
+				nodeAddresses.put(getString(buffer), id);
+			}
+			Map<String,Integer> edgeAddresses = new HashMap<String,Integer>(edgeCount * 2);
+			for(int id=0; id<edgeCount; id++){
+				edgeAddresses.put(getString(buffer), id);
+			}
+			Node[] nodes = new Node[nodeCount];
+			if(resolve(Query.universe().eval().nodes(), nodeAddresses, nodes) < nodeCount){
+				return null;
+			}
+			Edge[] edges = new Edge[edgeCount];
+			if(resolve(Common.resolve(monitor, Query.universe().edges(XCSG.DataFlow_Edge)).eval().edges(), edgeAddresses, edges) < edgeCount){
+				return null;
+			}
+
+			Node[] instantiations = new Node[addressCount];
+			Node[] types = new Node[addressCount];
+			for(int address=0; address<addressCount; address++){
+				int instantiationId = buffer.getInt();
+				instantiations[address] = instantiationId >= 0 ? nodes[instantiationId] : null;
+				int typeId = buffer.getInt();
+				types[address] = typeId >= 0 ? nodes[typeId] : null;
+			}
+			CompactHashMap<Node,SparseBitSet> pointsToSets = new CompactHashMap<Node,SparseBitSet>(pointsToSetCount);
+			for(int i=0; i<pointsToSetCount; i++){
+				Node node = nodes[buffer.getInt()];
+				pointsToSets.put(node, get(buffer));
+			}
+			CompactHashMap<Integer,SparseBitSet> arrayMemoryModels = new CompactHashMap<Integer,SparseBitSet>(arrayMemoryModelCount);
+			for(int i=0; i<arrayMemoryModelCount; i++){
+				Integer array = buffer.getInt();
+				arrayMemoryModels.put(array, get(buffer));
+			}
+			AtlasSet<Node> inferredDataFlowNodes = new AtlasHashSet<Node>();
+			SparseBitSet inferredDataFlowNodeIds = get(buffer);
+			for(Integer id : inferredDataFlowNodeIds){
+				inferredDataFlowNodes.add(nodes[id]);
+			}
+			AtlasSet<Edge> inferredDataFlowEdges = new AtlasHashSet<Edge>();
+			for(Edge edge : edges){
+				inferredDataFlowEdges.add(edge);
+			}
+			return new PointsToSnapshot(instantiations, types, pointsToSets, arrayMemoryModels, inferredDataFlowNodes, inferredDataFlowEdges);
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e){
+			throw new IOException("Points-to snapshot " + file.getName() + " is malformed.", e);
+		}
+	}
+
+	/**
+	 * Fills in the graph elements whose address strings are in the given
+	 * table and returns the number of resolved elements
+	 */
+	private static <E extends GraphElement> int resolve(AtlasSet<E> graphElements, Map<String,Integer> addresses, E[] resolved) {
+		int count = 0;
+		for(E graphElement : graphElements){
+			Integer id = addresses.get(graphElement.address().toAddressString());
+			if(id != null && resolved[id] == null){
+				resolved[id] = graphElement;
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Encodes the given values as the (word index, word) pairs of the
+	 * non-empty words of a bitset, stored as [index, word, index, word, ...]
+	 */
+	private static long[] encode(Collection<Integer> values) {
+		int[] sorted = new int[values.size()];
+		int i = 0;
+		for(Integer value : values){
+			sorted[i++] = value;
+		}
+		Arrays.sort(sorted);
+		long[] words = new long[sorted.length * 2];
+		int length = 0;
+		for(int value : sorted){
+			long key = value >>> 6;
+			if(length == 0 || words[length - 2] != key){
+				words[length++] = key;
+				length++;
+			}
+			words[length - 1] |= 1L << value;
+		}
+		return Arrays.copyOf(words, length);
+	}
+
+	private static long sizeOf(long[] words) {
+		return 4 + (words.length / 2) * 12L;
+	}
+
+	private static void put(MappedByteBuffer buffer, long[] words) {
+		buffer.putInt(words.length / 2);
+		for(int i=0; i<words.length; i+=2){
+			buffer.putInt((int) words[i]);
+			buffer.putLong(words[i + 1]);
+		}
+	}
+
+	private static SparseBitSet get(MappedByteBuffer buffer) {
+		SparseBitSet bitset = new SparseBitSet();
+		int count = buffer.getInt();
+		for(int i=0; i<count; i++){
+			int key = buffer.getInt();
+			long word = buffer.getLong();
+			while(word != 0){
+				bitset.add((key << 6) + Long.numberOfTrailingZeros(word));
+				word &= word - 1;
+			}
+		}
+		return bitset;
+	}
+
+	private static String getString(MappedByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static long hash(String value) {
+		long hash = 0xcbf29ce484222325L;
+		for(int i=0; i<value.length(); i++){
+			hash ^= value.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	private static long mix(long hash, long value) {
+		long mixed = (hash ^ value) * 0x9E3779B97F4A7C15L;
+		return mixed ^ (mixed >>> 29);
+	}
+
+}
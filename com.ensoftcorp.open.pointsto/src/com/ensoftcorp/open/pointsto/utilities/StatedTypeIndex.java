@@ -0,0 +1,76 @@
+package com.ensoftcorp.open.pointsto.utilities;
+
+import java.util.Arrays;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.ensoftcorp.atlas.core.db.graph.Edge;
+import com.ensoftcorp.atlas.core.db.graph.Node;
+import com.ensoftcorp.atlas.core.query.Query;
+import com.ensoftcorp.atlas.core.script.Common;
+import com.ensoftcorp.atlas.core.xcsg.XCSG;
+
+/**
+ * A precomputed index of the stated type of each typed node. The index is
+ * built once from the universe's TypeOf edges and stored as a flat array keyed
+ * by node id so that stated type lookups do not issue Atlas queries.
+ *
+ * @author Ben Holland
+ */
+public class StatedTypeIndex {
+
+	private final NodeIndex nodeIndex;
+
+	/**
+	 * Stated types indexed by node id
+	 */
+	private Node[] statedTypes;
+
+	/**
+	 * Creates a stated type index, assigning node ids from the given node index
+	 * to each node that has a stated type
+	 *
+	 * @param nodeIndex
+	 * @param monitor
+	 */
+	public StatedTypeIndex(NodeIndex nodeIndex, IProgressMonitor monitor) {
+		this.nodeIndex = nodeIndex;
+		this.statedTypes = new Node[Math.max(nodeIndex.size(), 1024)];
+		for(Edge typeOfEdge : Common.resolve(monitor, Query.universe().edges(XCSG.TypeOf)).eval().edges()){
+			int id = nodeIndex.getOrCreateId(typeOfEdge.from());
+			if(id >= statedTypes.length){
+				statedTypes = Arrays.copyOf(statedTypes, Math.max(id + 1, statedTypes.length * 2));
+			}
+			// consistent with AnalysisUtilities.statedType, any one type is accepted
+			if(statedTypes[id] == null){
+				statedTypes[id] = typeOfEdge.to();
+			}
+		}
+	}
+
+	/**
+	 * Returns the stated type of the node with the given id, or null if the
+	 * node does not have a stated type
+	 *
+	 * @param id
+	 * @return
+	 */
+	public Node getStatedType(int id) {
+		if(id < 0 || id >= statedTypes.length){
+			return null;
+		}
+		return statedTypes[id];
+	}
+
+	/**
+	 * Returns the stated type of the given node, or null if the node does not
+	 * have a stated type
+	 *
+	 * @param node
+	 * @return
+	 */
+	public Node getStatedType(Node node) {
+		return getStatedType(nodeIndex.getId(node));
+	}
+
+}
@@ -67,6 +67,16 @@ public class SubtypeCache {
 		}
 		return st.contains(type2);
 	}
+	
+	/**
+	 * Recomputes the cached supertype relations, for instance after types
+	 * were added or modified
+	 * 
+	 * @param monitor
+	 */
+	public void refresh(IProgressMonitor monitor) {
+		cacheSubtypeRelations(monitor);
+	}
 
 	private void cacheSubtypeRelations(IProgressMonitor m) {
 		// for (at least) all concrete types, cache the supertypes
@@ -0,0 +1,123 @@
+package com.ensoftcorp.open.pointsto.utilities;
+
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.ensoftcorp.atlas.core.db.graph.Node;
+import com.ensoftcorp.open.pointsto.utilities.set.SparseBitSet;
+
+import net.ontopia.utils.CompactHashMap;
+
+/**
+ * A cache of type filters for points-to propagation. Each stated type is
+ * mapped to a bitset mask of the addresses whose types are compatible with the
+ * stated type, so that a type filtered transfer can be computed as a single
+ * masked union instead of a subtype check per address.
+ *
+ * Addresses are grouped by their type, so compatibility is only ever decided
+ * once per (address type, stated type) pair. Masks are kept up to date as new
+ * addresses are registered. Masks may be requested from multiple threads.
+ *
+ * @author Ben Holland
+ */
+public class TypeFilterCache {
+
+	private final SubtypeCache subtypes;
+
+	/**
+	 * The addresses of each address type
+	 */
+	private final CompactHashMap<Node,SparseBitSet> typeToAddresses = new CompactHashMap<Node,SparseBitSet>();
+
+	/**
+	 * The mask of compatible addresses for each stated type
+	 */
+	private final ConcurrentHashMap<Node,SparseBitSet> statedTypeToMask = new ConcurrentHashMap<Node,SparseBitSet>();
+
+	public TypeFilterCache(SubtypeCache subtypes) {
+		this.subtypes = subtypes;
+	}
+
+	/**
+	 * Returns true if an address of the given address type may flow to a
+	 * reference of the given stated type. By default an address is compatible
+	 * if its type is a subtype of the stated type.
+	 *
+	 * @param addressType
+	 * @param statedType
+	 * @return
+	 */
+	protected boolean isCompatible(Node addressType, Node statedType) {
+		return subtypes.isSubtypeOf(addressType, statedType);
+	}
+
+	/**
+	 * Registers a new address of the given type, adding it to the mask of each
+	 * compatible stated type that has already been computed
+	 *
+	 * @param address
+	 * @param addressType
+	 */
+	public synchronized void addAddress(int address, Node addressType) {
+		SparseBitSet addresses = typeToAddresses.get(addressType);
+		if(addresses == null){
+			addresses = new SparseBitSet();
+			typeToAddresses.put(addressType, addresses);
+			addresses.add(address);
+			// a new address type, compatibility has to be decided for each existing mask
+			for(Entry<Node,SparseBitSet> entry : statedTypeToMask.entrySet()){
+				if(isCompatible(addressType, entry.getKey())){
+					entry.getValue().add(address);
+				}
+			}
+		} else {
+			// a known address type, the address belongs to the masks that already
+			// contain the other addresses of the same type
+			int representative = addresses.iterator().nextInt();
+			addresses.add(address);
+			for(SparseBitSet mask : statedTypeToMask.values()){
+				if(mask.contains(representative)){
+					mask.add(address);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the mask of addresses that are compatible with the given stated
+	 * type. The returned mask must not be modified by the caller.
+	 *
+	 * @param statedType
+	 * @return
+	 */
+	public SparseBitSet getMask(Node statedType) {
+		SparseBitSet mask = statedTypeToMask.get(statedType);
+		if(mask == null){
+			mask = computeMask(statedType);
+		}
+		return mask;
+	}
+
+	/**
+	 * Discards the computed masks, for instance after the subtype relations
+	 * changed. Masks are recomputed from the registered addresses on demand.
+	 */
+	public synchronized void clearMasks() {
+		statedTypeToMask.clear();
+	}
+
+	private synchronized SparseBitSet computeMask(Node statedType) {
+		SparseBitSet mask = statedTypeToMask.get(statedType);
+		if(mask == null){
+			mask = new SparseBitSet();
+			for(Entry<Node,SparseBitSet> entry : typeToAddresses.entrySet()){
+				if(isCompatible(entry.getKey(), statedType)){
+					mask.addAll(entry.getValue());
+				}
+			}
+			statedTypeToMask.put(statedType, mask);
+		}
+		return mask;
+	}
+
+}
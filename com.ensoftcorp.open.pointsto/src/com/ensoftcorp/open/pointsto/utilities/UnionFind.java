@@ -0,0 +1,188 @@
+package com.ensoftcorp.open.pointsto.utilities;
+
+import java.util.Arrays;
+
+/**
+ * A disjoint set forest over integer ids with union by rank and path
+ * compression. The members of each set are also kept as a circular linked
+ * list so that a set can be enumerated from any one of its members.
+ *
+ * Ids that have never been unioned are implicitly singleton sets, so the
+ * structure grows on demand and never needs to know the number of ids ahead
+ * of time.
+ *
+ * @author Ben Holland
+ */
+public class UnionFind {
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	private int[] parents;
+	private byte[] ranks;
+
+	/**
+	 * Circular linked list of set members
+	 */
+	private int[] nextMembers;
+
+	/**
+	 * The number of unions that merged two distinct sets
+	 */
+	private int unions = 0;
+
+	/**
+	 * Creates a new union find where every id is in its own set
+	 */
+	public UnionFind() {
+		parents = new int[DEFAULT_CAPACITY];
+		ranks = new byte[DEFAULT_CAPACITY];
+		nextMembers = new int[DEFAULT_CAPACITY];
+		initialize(0, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Returns the representative id of the set containing the given id. It is
+	 * safe to call this method from multiple threads as long as no unions are
+	 * made concurrently, since path compression only ever re-points an id at
+	 * its current representative.
+	 *
+	 * @param id
+	 * @return
+	 */
+	public int find(int id) {
+		if(id >= parents.length){
+			return id;
+		}
+		int root = id;
+		while(parents[root] != root){
+			root = parents[root];
+		}
+		// path compression
+		while(parents[id] != root){
+			int parent = parents[id];
+			parents[id] = root;
+			id = parent;
+		}
+		return root;
+	}
+
+	/**
+	 * Merges the sets containing the two given ids and returns the
+	 * representative id of the merged set
+	 *
+	 * @param id1
+	 * @param id2
+	 * @return
+	 */
+	public int union(int id1, int id2) {
+		ensureCapacity(Math.max(id1, id2) + 1);
+		int root1 = find(id1);
+		int root2 = find(id2);
+		if(root1 == root2){
+			return root1;
+		}
+		if(ranks[root1] < ranks[root2]){
+			int swap = root1;
+			root1 = root2;
+			root2 = swap;
+		}
+		parents[root2] = root1;
+		if(ranks[root1] == ranks[root2]){
+			ranks[root1]++;
+		}
+		// splice the two circular member lists together
+		int next = nextMembers[root1];
+		nextMembers[root1] = nextMembers[root2];
+		nextMembers[root2] = next;
+		unions++;
+		return root1;
+	}
+
+	/**
+	 * Returns true if the two ids are in the same set
+	 *
+	 * @param id1
+	 * @param id2
+	 * @return
+	 */
+	public boolean isSameSet(int id1, int id2) {
+		return find(id1) == find(id2);
+	}
+
+	/**
+	 * Returns true if the given id is the only member of its set
+	 *
+	 * @param id
+	 * @return
+	 */
+	public boolean isSingleton(int id) {
+		return id >= nextMembers.length || nextMembers[id] == id;
+	}
+
+	/**
+	 * Returns the next member of the set containing the given id. Repeatedly
+	 * calling this method enumerates the entire set and eventually returns to
+	 * the starting id.
+	 *
+	 * @param id
+	 * @return
+	 */
+	public int nextMember(int id) {
+		if(id >= nextMembers.length){
+			return id;
+		}
+		return nextMembers[id];
+	}
+
+	/**
+	 * Returns the members of the set containing the given id
+	 *
+	 * @param id
+	 * @return
+	 */
+	public int[] getMembers(int id) {
+		if(isSingleton(id)){
+			return new int[]{ id };
+		}
+		int size = 1;
+		for(int member = nextMembers[id]; member != id; member = nextMembers[member]){
+			size++;
+		}
+		int[] members = new int[size];
+		int index = 0;
+		int member = id;
+		do {
+			members[index++] = member;
+			member = nextMembers[member];
+		} while(member != id);
+		return members;
+	}
+
+	/**
+	 * Returns the number of unions that merged two distinct sets
+	 *
+	 * @return
+	 */
+	public int getUnionCount() {
+		return unions;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if(capacity > parents.length){
+			int oldCapacity = parents.length;
+			int newCapacity = Math.max(capacity, oldCapacity * 2);
+			parents = Arrays.copyOf(parents, newCapacity);
+			ranks = Arrays.copyOf(ranks, newCapacity);
+			nextMembers = Arrays.copyOf(nextMembers, newCapacity);
+			initialize(oldCapacity, newCapacity);
+		}
+	}
+
+	private void initialize(int from, int to) {
+		for(int id=from; id<to; id++){
+			parents[id] = id;
+			nextMembers[id] = id;
+		}
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.ensoftcorp.open.pointsto.utilities.frontier;
+
+import com.ensoftcorp.atlas.core.db.graph.Node;
+import com.ensoftcorp.open.pointsto.utilities.NodeIndex;
+
+/**
+ * A worklist of nodes backed by a worklist of node ids. Nodes are translated
+ * to ids through a node index, so the frontier itself only stores primitive
+ * ids instead of hashing and linking node objects. Adding a node still costs
+ * one node index lookup because the solver enqueues nodes, not ids.
+ * 
+ * @author Ben Holland
+ */
+public class IndexedFrontier implements Frontier<Node> {
+
+	private final IntFrontier frontier;
+	private final NodeIndex nodeIndex;
+
+	/**
+	 * Creates a new frontier of nodes in the order of the given id frontier
+	 * 
+	 * @param frontier
+	 * @param nodeIndex
+	 */
+	public IndexedFrontier(IntFrontier frontier, NodeIndex nodeIndex) {
+		this.frontier = frontier;
+		this.nodeIndex = nodeIndex;
+	}
+
+	/**
+	 * Returns true if the frontier is not empty, false otherwise
+	 * 
+	 * @return
+	 */
+	public boolean hasNext() {
+		return frontier.hasNext();
+	}
+
+	/**
+	 * Returns (and removes) the next node from the frontier
+	 * 
+	 * @return
+	 */
+	public Node next() {
+		return nodeIndex.getNode(frontier.nextInt());
+	}
+
+	/**
+	 * Adds the node to the frontier. Returns true if the node was added, false
+	 * if the node already existed.
+	 * 
+	 * @param node
+	 * @return
+	 */
+	public boolean add(Node node) {
+		return frontier.add(nodeIndex.getOrCreateId(node));
+	}
+
+	/**
+	 * Returns the number of nodes on the frontier
+	 * 
+	 * @return
+	 */
+	public long size() {
+		return frontier.size();
+	}
+
+	/**
+	 * Returns a string representation of this frontier collection. The string
+	 * representation consists of a list of the ids of the nodes in the order
+	 * they will be returned, enclosed in square brackets ("[]").
+	 * 
+	 * @return
+	 */
+	@Override
+	public String toString() {
+		return frontier.toString();
+	}
+
+}
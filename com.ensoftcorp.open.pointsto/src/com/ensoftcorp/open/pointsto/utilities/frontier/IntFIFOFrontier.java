@@ -0,0 +1,121 @@
+package com.ensoftcorp.open.pointsto.utilities.frontier;
+
+import java.util.Arrays;
+
+/**
+ * A First In First Out based worklist of integer ids. The order is kept in a
+ * growable ring buffer and membership in a bitset, so adding and removing ids
+ * are constant time array operations that do not allocate.
+ * 
+ * @author Ben Holland
+ */
+public class IntFIFOFrontier implements IntFrontier {
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	private int[] queue;
+	private int head = 0;
+	private int size = 0;
+	private long[] members;
+
+	/**
+	 * Creates a new frontier
+	 */
+	public IntFIFOFrontier() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new frontier with the given initial capacity
+	 * 
+	 * @param initialCapacity
+	 */
+	public IntFIFOFrontier(int initialCapacity) {
+		queue = new int[Math.max(initialCapacity, 16)];
+		members = new long[(Math.max(initialCapacity, 16) + 63) >>> 6];
+	}
+
+	/**
+	 * Returns true if the frontier is not empty, false otherwise
+	 * 
+	 * @return
+	 */
+	public boolean hasNext() {
+		return size != 0;
+	}
+
+	/**
+	 * Returns (and removes) the next id from the frontier in First In First
+	 * Out (FIFO) order
+	 * 
+	 * @return
+	 */
+	public int nextInt() {
+		int next = queue[head];
+		head = (head + 1) % queue.length;
+		size--;
+		members[next >>> 6] &= ~(1L << next);
+		return next;
+	}
+
+	/**
+	 * Adds the id to the frontier, if the id already exists the frontier is
+	 * left unchanged. Returns true if the id was added, false if the id
+	 * already existed.
+	 * 
+	 * @param id
+	 * @return
+	 */
+	public boolean add(int id) {
+		int word = id >>> 6;
+		if(word >= members.length){
+			members = Arrays.copyOf(members, Math.max(word + 1, members.length * 2));
+		} else if((members[word] & (1L << id)) != 0){
+			return false;
+		}
+		members[word] |= (1L << id);
+		if(size == queue.length){
+			// unroll the ring buffer into a larger array
+			int[] newQueue = new int[queue.length * 2];
+			int tail = queue.length - head;
+			System.arraycopy(queue, head, newQueue, 0, tail);
+			System.arraycopy(queue, 0, newQueue, tail, head);
+			queue = newQueue;
+			head = 0;
+		}
+		queue[(head + size) % queue.length] = id;
+		size++;
+		return true;
+	}
+
+	/**
+	 * Returns the number of ids in this frontier set (its cardinality).
+	 * 
+	 * @return
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * Returns a string representation of this frontier collection. The string
+	 * representation consists of a list of the ids in the order they will be
+	 * returned, enclosed in square brackets ("[]"). Adjacent ids are separated
+	 * by the characters ", " (comma and space).
+	 * 
+	 * @return
+	 */
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder("[");
+		for(int i=0; i<size; i++){
+			if(i > 0){
+				result.append(", ");
+			}
+			result.append(queue[(head + i) % queue.length]);
+		}
+		result.append("]");
+		return result.toString();
+	}
+
+}
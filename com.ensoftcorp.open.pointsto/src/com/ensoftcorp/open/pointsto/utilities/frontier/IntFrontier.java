@@ -0,0 +1,39 @@
+package com.ensoftcorp.open.pointsto.utilities.frontier;
+
+/**
+ * Data structure for maintaining the worklist set of non-negative integer ids
+ * to process in a prescribed order without boxing or hashing the ids.
+ * 
+ * @author Ben Holland
+ */
+public interface IntFrontier {
+
+	/**
+	 * Returns true if the frontier is not empty, false otherwise
+	 * 
+	 * @return
+	 */
+	public boolean hasNext();
+
+	/**
+	 * Returns (and removes) the next id from the frontier
+	 * 
+	 * @return
+	 */
+	public int nextInt();
+
+	/**
+	 * Adds the id to the frontier Returns true if the id was added, false if
+	 * the id already existed.
+	 * 
+	 * @param id
+	 * @return
+	 */
+	public boolean add(int id);
+
+	/**
+	 * Returns the number of ids on the frontier
+	 * @return
+	 */
+	public long size();
+}
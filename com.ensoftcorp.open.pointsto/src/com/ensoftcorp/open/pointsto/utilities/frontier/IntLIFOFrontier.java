@@ -0,0 +1,111 @@
+package com.ensoftcorp.open.pointsto.utilities.frontier;
+
+import java.util.Arrays;
+
+/**
+ * A Last In First Out based worklist of integer ids. The order is kept in a
+ * growable int stack and membership in a bitset, so adding and removing ids
+ * are constant time array operations that do not allocate.
+ * 
+ * @author Ben Holland
+ */
+public class IntLIFOFrontier implements IntFrontier {
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	private int[] stack;
+	private int size = 0;
+	private long[] members;
+
+	/**
+	 * Creates a new frontier
+	 */
+	public IntLIFOFrontier() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new frontier with the given initial capacity
+	 * 
+	 * @param initialCapacity
+	 */
+	public IntLIFOFrontier(int initialCapacity) {
+		stack = new int[Math.max(initialCapacity, 16)];
+		members = new long[(Math.max(initialCapacity, 16) + 63) >>> 6];
+	}
+
+	/**
+	 * Returns true if the frontier is not empty, false otherwise
+	 * 
+	 * @return
+	 */
+	public boolean hasNext() {
+		return size != 0;
+	}
+
+	/**
+	 * Returns (and removes) the next id from the frontier in Last In First
+	 * Out (LIFO) order
+	 * 
+	 * @return
+	 */
+	public int nextInt() {
+		int next = stack[--size];
+		members[next >>> 6] &= ~(1L << next);
+		return next;
+	}
+
+	/**
+	 * Adds the id to the frontier, if the id already exists the frontier is
+	 * left unchanged. Returns true if the id was added, false if the id
+	 * already existed.
+	 * 
+	 * @param id
+	 * @return
+	 */
+	public boolean add(int id) {
+		int word = id >>> 6;
+		if(word >= members.length){
+			members = Arrays.copyOf(members, Math.max(word + 1, members.length * 2));
+		} else if((members[word] & (1L << id)) != 0){
+			return false;
+		}
+		members[word] |= (1L << id);
+		if(size == stack.length){
+			stack = Arrays.copyOf(stack, stack.length * 2);
+		}
+		stack[size++] = id;
+		return true;
+	}
+
+	/**
+	 * Returns the number of ids in this frontier set (its cardinality).
+	 * 
+	 * @return
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * Returns a string representation of this frontier collection. The string
+	 * representation consists of a list of the ids in the order they will be
+	 * returned, enclosed in square brackets ("[]"). Adjacent ids are separated
+	 * by the characters ", " (comma and space).
+	 * 
+	 * @return
+	 */
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder("[");
+		for(int i=size-1; i>=0; i--){
+			if(i < size-1){
+				result.append(", ");
+			}
+			result.append(stack[i]);
+		}
+		result.append("]");
+		return result.toString();
+	}
+
+}
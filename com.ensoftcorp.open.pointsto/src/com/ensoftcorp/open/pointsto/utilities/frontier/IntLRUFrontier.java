@@ -0,0 +1,157 @@
+package com.ensoftcorp.open.pointsto.utilities.frontier;
+
+import java.util.Arrays;
+
+/**
+ * A Least Recently Used based worklist of integer ids. The order is kept in a
+ * doubly linked list threaded through arrays indexed by id, so moving an id
+ * that is already on the frontier to the end is a constant time relink
+ * instead of a remove and re-add.
+ * 
+ * @author Ben Holland
+ */
+public class IntLRUFrontier implements IntFrontier {
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	/**
+	 * Marks an id that is not on the frontier, or the end of the list
+	 */
+	private static final int NONE = -1;
+
+	private int[] previous;
+	private int[] next;
+	private long[] members;
+	private int first = NONE;
+	private int last = NONE;
+	private int size = 0;
+
+	/**
+	 * Creates a new frontier
+	 */
+	public IntLRUFrontier() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new frontier with the given initial capacity
+	 * 
+	 * @param initialCapacity
+	 */
+	public IntLRUFrontier(int initialCapacity) {
+		int capacity = Math.max(initialCapacity, 16);
+		previous = new int[capacity];
+		next = new int[capacity];
+		members = new long[(capacity + 63) >>> 6];
+	}
+
+	/**
+	 * Returns true if the frontier is not empty, false otherwise
+	 * 
+	 * @return
+	 */
+	public boolean hasNext() {
+		return size != 0;
+	}
+
+	/**
+	 * Returns (and removes) the next id from the frontier in Least Recently
+	 * Used (LRU) order
+	 * 
+	 * @return
+	 */
+	public int nextInt() {
+		int result = first;
+		unlink(result);
+		members[result >>> 6] &= ~(1L << result);
+		return result;
+	}
+
+	/**
+	 * Adds the id to the frontier, moving the id to the end of the frontier if
+	 * it already is contained in the frontier. Returns true if the id was
+	 * added, false if the id already existed.
+	 * 
+	 * @param id
+	 * @return
+	 */
+	public boolean add(int id) {
+		ensureCapacity(id + 1);
+		boolean present = (members[id >>> 6] & (1L << id)) != 0;
+		if(present){
+			if(id == last){
+				return false;
+			}
+			unlink(id);
+		} else {
+			members[id >>> 6] |= (1L << id);
+		}
+		// link at the end of the list
+		previous[id] = last;
+		next[id] = NONE;
+		if(last == NONE){
+			first = id;
+		} else {
+			next[last] = id;
+		}
+		last = id;
+		size++;
+		return !present;
+	}
+
+	/**
+	 * Returns the number of ids in this frontier set (its cardinality).
+	 * 
+	 * @return
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * Returns a string representation of this frontier collection. The string
+	 * representation consists of a list of the ids in the order they will be
+	 * returned, enclosed in square brackets ("[]"). Adjacent ids are separated
+	 * by the characters ", " (comma and space).
+	 * 
+	 * @return
+	 */
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder("[");
+		for(int id=first; id!=NONE; id=next[id]){
+			if(id != first){
+				result.append(", ");
+			}
+			result.append(id);
+		}
+		result.append("]");
+		return result.toString();
+	}
+
+	private void unlink(int id) {
+		int before = previous[id];
+		int after = next[id];
+		if(before == NONE){
+			first = after;
+		} else {
+			next[before] = after;
+		}
+		if(after == NONE){
+			last = before;
+		} else {
+			previous[after] = before;
+		}
+		size--;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if(capacity > next.length){
+			int newCapacity = Math.max(capacity, next.length * 2);
+			previous = Arrays.copyOf(previous, newCapacity);
+			next = Arrays.copyOf(next, newCapacity);
+			members = Arrays.copyOf(members, (newCapacity + 63) >>> 6);
+		}
+	}
+
+}
@@ -0,0 +1,143 @@
+package com.ensoftcorp.open.pointsto.utilities.frontier;
+
+import java.util.HashMap;
+import java.util.PriorityQueue;
+
+/**
+ * A Least Recently Fired based worklist. Each element is prioritized by the
+ * time it was last returned from the frontier, so elements that have never
+ * been processed come first and elements that were processed recently wait
+ * for others to accumulate more changes before being processed again. Ties
+ * are broken in First In First Out (FIFO) order.
+ * 
+ * @author Ben Holland
+ * 
+ * @param <E>
+ */
+public class PriorityFrontier<E> implements Frontier<E> {
+
+	private static class Entry<E> implements Comparable<Entry<E>> {
+		private final E element;
+		private final long lastFired;
+		private final long sequence;
+
+		public Entry(E element, long lastFired, long sequence) {
+			this.element = element;
+			this.lastFired = lastFired;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public int compareTo(Entry<E> other) {
+			int result = Long.compare(lastFired, other.lastFired);
+			if(result == 0){
+				result = Long.compare(sequence, other.sequence);
+			}
+			return result;
+		}
+	}
+
+	private PriorityQueue<Entry<E>> frontier;
+
+	/**
+	 * The time each element was last returned from the frontier, an element is
+	 * mapped to null while it is waiting on the frontier
+	 */
+	private HashMap<E,Long> lastFired;
+
+	private long time = 0;
+	private long sequence = 0;
+
+	/**
+	 * Creates a new frontier
+	 */
+	public PriorityFrontier() {
+		frontier = new PriorityQueue<Entry<E>>();
+		lastFired = new HashMap<E,Long>();
+	}
+
+	/**
+	 * Creates a new frontier with the given initial capacity
+	 * 
+	 * @param initialCapacity
+	 */
+	public PriorityFrontier(int initialCapacity) {
+		frontier = new PriorityQueue<Entry<E>>(Math.max(1, initialCapacity));
+		lastFired = new HashMap<E,Long>(initialCapacity);
+	}
+
+	/**
+	 * Returns true if the frontier is not empty, false otherwise
+	 * 
+	 * @return
+	 */
+	public boolean hasNext() {
+		return !frontier.isEmpty();
+	}
+
+	/**
+	 * Returns (and removes) the next element from the frontier in Least
+	 * Recently Fired order
+	 * 
+	 * @return
+	 */
+	public E next() {
+		E next = frontier.remove().element;
+		lastFired.put(next, ++time);
+		return next;
+	}
+
+	/**
+	 * Adds the element to the frontier, if the element already exists the
+	 * frontier is left unchanged. Returns true if the element was added, false
+	 * if the element already existed.
+	 * 
+	 * @param e
+	 * @return
+	 */
+	public boolean add(E e) {
+		if(lastFired.containsKey(e)){
+			Long fired = lastFired.get(e);
+			if(fired == null){
+				// already waiting on the frontier
+				return false;
+			}
+			frontier.add(new Entry<E>(e, fired, sequence++));
+		} else {
+			frontier.add(new Entry<E>(e, 0, sequence++));
+		}
+		lastFired.put(e, null);
+		return true;
+	}
+
+	/**
+	 * Returns the number of elements in this frontier set (its cardinality).
+	 * 
+	 * @return
+	 */
+	public long size() {
+		return frontier.size();
+	}
+
+	/**
+	 * Returns a string representation of this frontier collection. The string
+	 * representation consists of a list of the collection's elements in no
+	 * particular order, enclosed in square brackets ("[]"). Adjacent elements
+	 * are separated by the characters ", " (comma and space).
+	 * 
+	 * @return
+	 */
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder("[");
+		String prefix = "";
+		for(Entry<E> entry : frontier){
+			result.append(prefix);
+			result.append(String.valueOf(entry.element));
+			prefix = ", ";
+		}
+		result.append("]");
+		return result.toString();
+	}
+
+}
@@ -0,0 +1,167 @@
+package com.ensoftcorp.open.pointsto.utilities.frontier;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * A wave propagation based worklist. Elements are ordered by their
+ * topological rank, so that within a wave sources are processed before the
+ * sinks they flow to. An element added with a rank lower than the rank of the
+ * last processed element is deferred to the next wave, so most elements are
+ * processed close to once per wave.
+ *
+ * Elements without a rank are processed at the end of a wave. Callers that
+ * grow the ranked graph should set new ranks between waves.
+ *
+ * @author Ben Holland
+ *
+ * @param <E>
+ */
+public class WaveFrontier<E> implements Frontier<E> {
+
+	private Map<E,Integer> ranks = null;
+	private PriorityQueue<E> currentWave;
+	private PriorityQueue<E> nextWave;
+	private HashSet<E> members;
+
+	/**
+	 * The rank of the last element removed from the current wave
+	 */
+	private int currentRank = Integer.MIN_VALUE;
+
+	private long waves = 0;
+
+	private final Comparator<E> rankComparator = new Comparator<E>() {
+		@Override
+		public int compare(E e1, E e2) {
+			return Integer.compare(getRank(e1), getRank(e2));
+		}
+	};
+
+	/**
+	 * Creates a new frontier
+	 */
+	public WaveFrontier() {
+		currentWave = new PriorityQueue<E>(11, rankComparator);
+		nextWave = new PriorityQueue<E>(11, rankComparator);
+		members = new HashSet<E>();
+	}
+
+	/**
+	 * Sets the topological ranks of the elements, lower ranks are processed
+	 * first. Any elements already on the frontier are reordered and a new wave
+	 * is started.
+	 *
+	 * @param ranks
+	 */
+	public void setRanks(Map<E,Integer> ranks) {
+		this.ranks = ranks;
+		PriorityQueue<E> wave = new PriorityQueue<E>(Math.max(11, members.size()), rankComparator);
+		wave.addAll(members);
+		currentWave = wave;
+		nextWave = new PriorityQueue<E>(11, rankComparator);
+		currentRank = Integer.MIN_VALUE;
+	}
+
+	/**
+	 * Returns true if the current wave has been exhausted, so the next element
+	 * starts a new wave. Ranks can be replaced at this point without reordering
+	 * a wave that is in progress.
+	 *
+	 * @return
+	 */
+	public boolean isWaveComplete() {
+		return currentWave.isEmpty();
+	}
+
+	/**
+	 * Returns the number of waves that have been started
+	 *
+	 * @return
+	 */
+	public long getWaves() {
+		return waves;
+	}
+
+	private int getRank(E e) {
+		if(ranks == null){
+			return Integer.MAX_VALUE;
+		}
+		Integer rank = ranks.get(e);
+		return rank == null ? Integer.MAX_VALUE : rank;
+	}
+
+	/**
+	 * Returns true if the frontier is not empty, false otherwise
+	 *
+	 * @return
+	 */
+	public boolean hasNext() {
+		return !members.isEmpty();
+	}
+
+	/**
+	 * Returns (and removes) the lowest ranked element of the current wave,
+	 * starting the next wave if the current wave is exhausted
+	 *
+	 * @return
+	 */
+	public E next() {
+		if(currentWave.isEmpty()){
+			PriorityQueue<E> wave = currentWave;
+			currentWave = nextWave;
+			nextWave = wave;
+			currentRank = Integer.MIN_VALUE;
+			waves++;
+		}
+		E next = currentWave.remove();
+		members.remove(next);
+		currentRank = getRank(next);
+		return next;
+	}
+
+	/**
+	 * Adds the element to the frontier, if the element already exists the
+	 * frontier is left unchanged. The element joins the current wave if its
+	 * rank has not been passed yet, otherwise it joins the next wave. Returns
+	 * true if the element was added, false if the element already existed.
+	 *
+	 * @param e
+	 * @return
+	 */
+	public boolean add(E e) {
+		if(!members.add(e)){
+			return false;
+		}
+		if(getRank(e) >= currentRank){
+			currentWave.add(e);
+		} else {
+			nextWave.add(e);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the number of elements in this frontier set (its cardinality).
+	 *
+	 * @return
+	 */
+	public long size() {
+		return members.size();
+	}
+
+	/**
+	 * Returns a string representation of this frontier collection. The string
+	 * representation consists of the elements of the current wave followed by
+	 * the elements of the next wave, in no particular order.
+	 *
+	 * @return
+	 */
+	@Override
+	public String toString() {
+		return currentWave.toString() + nextWave.toString();
+	}
+
+}
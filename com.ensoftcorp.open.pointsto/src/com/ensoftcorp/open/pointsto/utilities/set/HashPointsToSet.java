@@ -0,0 +1,149 @@
+package com.ensoftcorp.open.pointsto.utilities.set;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+
+/**
+ * A points-to set backed by a set of boxed integers
+ *
+ * @author Ben Holland
+ */
+public class HashPointsToSet implements PointsToSet {
+
+	private HashSet<Integer> addresses;
+
+	/**
+	 * Creates a new empty points-to set
+	 */
+	public HashPointsToSet() {
+		addresses = new HashSet<Integer>();
+	}
+
+	@Override
+	public boolean add(int address) {
+		return addresses.add(address);
+	}
+
+	@Override
+	public boolean remove(int address) {
+		return addresses.remove(address);
+	}
+
+	@Override
+	public boolean contains(int address) {
+		return addresses.contains(address);
+	}
+
+	@Override
+	public boolean addAll(PointsToSet addresses) {
+		if(addresses instanceof HashPointsToSet){
+			return this.addresses.addAll(((HashPointsToSet) addresses).addresses);
+		}
+		boolean changed = false;
+		PrimitiveIterator.OfInt iterator = addresses.iterator();
+		while(iterator.hasNext()){
+			changed |= this.addresses.add(iterator.nextInt());
+		}
+		return changed;
+	}
+
+	@Override
+	public boolean addAll(PointsToSet addresses, PointsToSet mask, PointsToSet delta) {
+		boolean changed = false;
+		PrimitiveIterator.OfInt iterator = addresses.iterator();
+		while(iterator.hasNext()){
+			int address = iterator.nextInt();
+			if((mask == null || mask.contains(address)) && this.addresses.add(address)){
+				if(delta != null){
+					delta.add(address);
+				}
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	@Override
+	public boolean removeAll(PointsToSet addresses) {
+		if(addresses instanceof HashPointsToSet){
+			return this.addresses.removeAll(((HashPointsToSet) addresses).addresses);
+		}
+		boolean changed = false;
+		PrimitiveIterator.OfInt iterator = addresses.iterator();
+		while(iterator.hasNext()){
+			changed |= this.addresses.remove(iterator.nextInt());
+		}
+		return changed;
+	}
+
+	@Override
+	public boolean containsAll(PointsToSet addresses) {
+		if(addresses instanceof HashPointsToSet){
+			return this.addresses.containsAll(((HashPointsToSet) addresses).addresses);
+		}
+		PrimitiveIterator.OfInt iterator = addresses.iterator();
+		while(iterator.hasNext()){
+			if(!this.addresses.contains(iterator.nextInt())){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean intersects(PointsToSet addresses) {
+		if(addresses.size() > size()){
+			return addresses.intersects(this);
+		}
+		PrimitiveIterator.OfInt iterator = addresses.iterator();
+		while(iterator.hasNext()){
+			if(this.addresses.contains(iterator.nextInt())){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return addresses.isEmpty();
+	}
+
+	@Override
+	public int size() {
+		return addresses.size();
+	}
+
+	@Override
+	public PrimitiveIterator.OfInt iterator() {
+		final Iterator<Integer> iterator = addresses.iterator();
+		return new PrimitiveIterator.OfInt() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public int nextInt() {
+				return iterator.next();
+			}
+
+			@Override
+			public void remove() {
+				iterator.remove();
+			}
+		};
+	}
+
+	@Override
+	public HashSet<Integer> toHashSet() {
+		return new HashSet<Integer>(addresses);
+	}
+
+	@Override
+	public String toString() {
+		return addresses.toString();
+	}
+
+}
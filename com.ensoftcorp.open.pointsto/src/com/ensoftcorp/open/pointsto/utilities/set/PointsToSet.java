@@ -0,0 +1,128 @@
+package com.ensoftcorp.open.pointsto.utilities.set;
+
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+
+/**
+ * Data structure for maintaining a set of integer points-to addresses.
+ *
+ * Implementations are expected to operate on primitive int addresses so that
+ * the fixed point propagation loop does not need to box addresses.
+ *
+ * @author Ben Holland
+ */
+public interface PointsToSet extends Iterable<Integer> {
+
+	/**
+	 * Adds the address to the set. Returns true if the address was added,
+	 * false if the address already existed.
+	 *
+	 * @param address
+	 * @return
+	 */
+	public boolean add(int address);
+
+	/**
+	 * Removes the address from the set. Returns true if the address was
+	 * removed, false if the address did not exist.
+	 *
+	 * @param address
+	 * @return
+	 */
+	public boolean remove(int address);
+
+	/**
+	 * Returns true if the set contains the given address
+	 *
+	 * @param address
+	 * @return
+	 */
+	public boolean contains(int address);
+
+	/**
+	 * Adds all of the given addresses to this set. Returns true if any new
+	 * addresses were added, false otherwise.
+	 *
+	 * @param addresses
+	 * @return
+	 */
+	public boolean addAll(PointsToSet addresses);
+
+	/**
+	 * Adds the given addresses that are also contained in the mask to this
+	 * set. A null mask accepts every address. If the delta set is not null,
+	 * each newly added address is also added to the delta set. Returns true if
+	 * any new addresses were added, false otherwise.
+	 *
+	 * @param addresses
+	 * @param mask
+	 * @param delta
+	 * @return
+	 */
+	public boolean addAll(PointsToSet addresses, PointsToSet mask, PointsToSet delta);
+
+	/**
+	 * Removes all of the given addresses from this set. Returns true if any
+	 * addresses were removed, false otherwise.
+	 *
+	 * @param addresses
+	 * @return
+	 */
+	public boolean removeAll(PointsToSet addresses);
+
+	/**
+	 * Returns true if this set contains every address in the given set
+	 *
+	 * @param addresses
+	 * @return
+	 */
+	public boolean containsAll(PointsToSet addresses);
+
+	/**
+	 * Returns true if this set and the given set have at least one address in
+	 * common
+	 *
+	 * @param addresses
+	 * @return
+	 */
+	public boolean intersects(PointsToSet addresses);
+
+	/**
+	 * Returns true if the set contains no addresses
+	 *
+	 * @return
+	 */
+	public boolean isEmpty();
+
+	/**
+	 * Returns the number of addresses in this set (its cardinality).
+	 *
+	 * @return
+	 */
+	public int size();
+
+	/**
+	 * Returns an iterator over the addresses of this set. Callers on hot paths
+	 * should use {@link PrimitiveIterator.OfInt#nextInt()} to avoid boxing.
+	 *
+	 * @return
+	 */
+	@Override
+	public PrimitiveIterator.OfInt iterator();
+
+	/**
+	 * Returns a boxed copy of this set
+	 *
+	 * @return
+	 */
+	public HashSet<Integer> toHashSet();
+
+	/**
+	 * Returns a string representation of this set.
+	 *
+	 * @return
+	 */
+	@Override
+	public String toString();
+
+}
@@ -0,0 +1,516 @@
+package com.ensoftcorp.open.pointsto.utilities.set;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A compressed bitset of non-negative integers. Only the 64-bit words that
+ * contain at least one set bit are stored, as a pair of parallel arrays sorted
+ * by word index. This keeps small sets of large addresses compact while still
+ * allowing unions and subset checks to be computed a word at a time.
+ *
+ * @author Ben Holland
+ */
+public class SparseBitSet implements PointsToSet {
+
+	private static final int DEFAULT_CAPACITY = 2;
+	private static final int[] EMPTY_KEYS = new int[0];
+	private static final long[] EMPTY_WORDS = new long[0];
+
+	/**
+	 * Sorted word indexes (value >>> 6) of the non-empty words
+	 */
+	private int[] keys;
+
+	/**
+	 * The non-empty words, parallel to keys
+	 */
+	private long[] words;
+
+	/**
+	 * The number of words in use
+	 */
+	private int count;
+
+	/**
+	 * The number of set bits
+	 */
+	private int cardinality;
+
+	/**
+	 * Creates a new empty bitset
+	 */
+	public SparseBitSet() {
+		keys = EMPTY_KEYS;
+		words = EMPTY_WORDS;
+	}
+
+	/**
+	 * Creates a new bitset containing the same values as the given bitset
+	 *
+	 * @param bitset
+	 */
+	public SparseBitSet(SparseBitSet bitset) {
+		keys = Arrays.copyOf(bitset.keys, bitset.count);
+		words = Arrays.copyOf(bitset.words, bitset.count);
+		count = bitset.count;
+		cardinality = bitset.cardinality;
+	}
+
+	@Override
+	public boolean add(int value) {
+		checkValue(value);
+		int key = value >>> 6;
+		long bit = 1L << value;
+		int index = Arrays.binarySearch(keys, 0, count, key);
+		if(index >= 0){
+			if((words[index] & bit) != 0){
+				return false;
+			}
+			words[index] |= bit;
+		} else {
+			insertWord(-(index + 1), key, bit);
+		}
+		cardinality++;
+		return true;
+	}
+
+	@Override
+	public boolean remove(int value) {
+		if(value < 0){
+			return false;
+		}
+		int index = Arrays.binarySearch(keys, 0, count, value >>> 6);
+		long bit = 1L << value;
+		if(index < 0 || (words[index] & bit) == 0){
+			return false;
+		}
+		words[index] &= ~bit;
+		if(words[index] == 0){
+			removeWord(index);
+		}
+		cardinality--;
+		return true;
+	}
+
+	@Override
+	public boolean contains(int value) {
+		if(value < 0){
+			return false;
+		}
+		int index = Arrays.binarySearch(keys, 0, count, value >>> 6);
+		return index >= 0 && (words[index] & (1L << value)) != 0;
+	}
+
+	@Override
+	public boolean addAll(PointsToSet values) {
+		if(values instanceof SparseBitSet){
+			return union((SparseBitSet) values);
+		}
+		boolean changed = false;
+		PrimitiveIterator.OfInt iterator = values.iterator();
+		while(iterator.hasNext()){
+			changed |= add(iterator.nextInt());
+		}
+		return changed;
+	}
+
+	@Override
+	public boolean addAll(PointsToSet values, PointsToSet mask, PointsToSet delta) {
+		if(values instanceof SparseBitSet && (mask == null || mask instanceof SparseBitSet)){
+			SparseBitSet added = newValues((SparseBitSet) values, (SparseBitSet) mask);
+			if(added == null){
+				return false;
+			}
+			union(added);
+			if(delta != null){
+				delta.addAll(added);
+			}
+			return true;
+		}
+		boolean changed = false;
+		PrimitiveIterator.OfInt iterator = values.iterator();
+		while(iterator.hasNext()){
+			int value = iterator.nextInt();
+			if((mask == null || mask.contains(value)) && add(value)){
+				if(delta != null){
+					delta.add(value);
+				}
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	@Override
+	public boolean removeAll(PointsToSet values) {
+		if(values instanceof SparseBitSet){
+			return difference((SparseBitSet) values);
+		}
+		boolean changed = false;
+		PrimitiveIterator.OfInt iterator = values.iterator();
+		while(iterator.hasNext()){
+			changed |= remove(iterator.nextInt());
+		}
+		return changed;
+	}
+
+	@Override
+	public boolean containsAll(PointsToSet values) {
+		if(values instanceof SparseBitSet){
+			SparseBitSet other = (SparseBitSet) values;
+			if(other.cardinality > cardinality){
+				return false;
+			}
+			int i = 0;
+			for(int j=0; j<other.count; j++){
+				int key = other.keys[j];
+				while(i < count && keys[i] < key){
+					i++;
+				}
+				if(i == count || keys[i] != key || (other.words[j] & ~words[i]) != 0){
+					return false;
+				}
+			}
+			return true;
+		}
+		PrimitiveIterator.OfInt iterator = values.iterator();
+		while(iterator.hasNext()){
+			if(!contains(iterator.nextInt())){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean intersects(PointsToSet values) {
+		if(values instanceof SparseBitSet){
+			SparseBitSet other = (SparseBitSet) values;
+			int i = 0;
+			int j = 0;
+			while(i < count && j < other.count){
+				if(keys[i] < other.keys[j]){
+					i++;
+				} else if(keys[i] > other.keys[j]){
+					j++;
+				} else {
+					if((words[i] & other.words[j]) != 0){
+						return true;
+					}
+					i++;
+					j++;
+				}
+			}
+			return false;
+		}
+		PrimitiveIterator.OfInt iterator = values.iterator();
+		while(iterator.hasNext()){
+			if(contains(iterator.nextInt())){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return cardinality == 0;
+	}
+
+	@Override
+	public int size() {
+		return cardinality;
+	}
+
+	@Override
+	public PrimitiveIterator.OfInt iterator() {
+		return new PrimitiveIterator.OfInt() {
+			private int index = 0;
+			private long word = count > 0 ? words[0] : 0;
+
+			@Override
+			public boolean hasNext() {
+				while(word == 0){
+					if(++index >= count){
+						return false;
+					}
+					word = words[index];
+				}
+				return true;
+			}
+
+			@Override
+			public int nextInt() {
+				if(!hasNext()){
+					throw new NoSuchElementException();
+				}
+				int bit = Long.numberOfTrailingZeros(word);
+				word &= word - 1;
+				return (keys[index] << 6) + bit;
+			}
+		};
+	}
+
+	@Override
+	public HashSet<Integer> toHashSet() {
+		HashSet<Integer> result = new HashSet<Integer>();
+		PrimitiveIterator.OfInt iterator = iterator();
+		while(iterator.hasNext()){
+			result.add(iterator.nextInt());
+		}
+		return result;
+	}
+
+	/**
+	 * Word level union of the given bitset into this bitset. The words of
+	 * both sets are merged from the back so that the union can be computed in
+	 * place after a single growth of the backing arrays.
+	 *
+	 * @param other
+	 * @return Returns true if any new values were added, false otherwise
+	 */
+	private boolean union(SparseBitSet other) {
+		if(other == this || other.count == 0){
+			return false;
+		}
+
+		// count the words of the other set that are missing from this set
+		int missing = 0;
+		int i = 0;
+		for(int j=0; j<other.count; j++){
+			int key = other.keys[j];
+			while(i < count && keys[i] < key){
+				i++;
+			}
+			if(i == count || keys[i] != key){
+				missing++;
+			}
+		}
+		ensureCapacity(count + missing);
+
+		boolean changed = false;
+		i = count - 1;
+		int j = other.count - 1;
+		int k = count + missing - 1;
+		while(j >= 0){
+			if(i >= 0 && keys[i] > other.keys[j]){
+				keys[k] = keys[i];
+				words[k] = words[i];
+				i--;
+			} else if(i >= 0 && keys[i] == other.keys[j]){
+				long word = words[i];
+				long merged = word | other.words[j];
+				if(merged != word){
+					cardinality += Long.bitCount(merged & ~word);
+					changed = true;
+				}
+				keys[k] = keys[i];
+				words[k] = merged;
+				i--;
+				j--;
+			} else {
+				keys[k] = other.keys[j];
+				words[k] = other.words[j];
+				cardinality += Long.bitCount(other.words[j]);
+				changed = true;
+				j--;
+			}
+			k--;
+		}
+		// any remaining words of this set are already in place
+		count += missing;
+		return changed;
+	}
+
+	/**
+	 * Word level difference of this bitset and the given bitset. Words that
+	 * become empty are compacted out in place.
+	 *
+	 * @param other
+	 * @return Returns true if any values were removed, false otherwise
+	 */
+	private boolean difference(SparseBitSet other) {
+		if(other == this){
+			boolean changed = count > 0;
+			count = 0;
+			cardinality = 0;
+			return changed;
+		}
+		boolean changed = false;
+		int j = 0;
+		int k = 0;
+		for(int i=0; i<count; i++){
+			int key = keys[i];
+			long word = words[i];
+			while(j < other.count && other.keys[j] < key){
+				j++;
+			}
+			if(j < other.count && other.keys[j] == key){
+				long remaining = word & ~other.words[j];
+				if(remaining != word){
+					cardinality -= Long.bitCount(word & other.words[j]);
+					changed = true;
+					word = remaining;
+				}
+			}
+			if(word != 0){
+				keys[k] = key;
+				words[k] = word;
+				k++;
+			}
+		}
+		count = k;
+		return changed;
+	}
+
+	/**
+	 * Computes the values of the given set that are in the mask but are not in
+	 * this set, a word at a time. Nothing is allocated if there are no such
+	 * values.
+	 *
+	 * @param values
+	 * @param mask
+	 *            a mask of values to accept, null accepts every value
+	 * @return the new values or null if there are none
+	 */
+	private SparseBitSet newValues(SparseBitSet values, SparseBitSet mask) {
+		// first pass counts the words that contribute new values
+		int newWords = 0;
+		int i = 0;
+		int m = 0;
+		for(int j=0; j<values.count; j++){
+			int key = values.keys[j];
+			long word = values.words[j];
+			if(mask != null){
+				while(m < mask.count && mask.keys[m] < key){
+					m++;
+				}
+				if(m == mask.count){
+					break;
+				}
+				word = mask.keys[m] == key ? (word & mask.words[m]) : 0;
+			}
+			while(i < count && keys[i] < key){
+				i++;
+			}
+			if(i < count && keys[i] == key){
+				word &= ~words[i];
+			}
+			if(word != 0){
+				newWords++;
+			}
+		}
+		if(newWords == 0){
+			return null;
+		}
+
+		// second pass collects the new words
+		SparseBitSet result = new SparseBitSet();
+		result.keys = new int[newWords];
+		result.words = new long[newWords];
+		i = 0;
+		m = 0;
+		for(int j=0; j<values.count && result.count < newWords; j++){
+			int key = values.keys[j];
+			long word = values.words[j];
+			if(mask != null){
+				while(m < mask.count && mask.keys[m] < key){
+					m++;
+				}
+				if(m == mask.count){
+					break;
+				}
+				word = mask.keys[m] == key ? (word & mask.words[m]) : 0;
+			}
+			while(i < count && keys[i] < key){
+				i++;
+			}
+			if(i < count && keys[i] == key){
+				word &= ~words[i];
+			}
+			if(word != 0){
+				result.keys[result.count] = key;
+				result.words[result.count] = word;
+				result.count++;
+				result.cardinality += Long.bitCount(word);
+			}
+		}
+		return result;
+	}
+
+	private void insertWord(int index, int key, long word) {
+		ensureCapacity(count + 1);
+		System.arraycopy(keys, index, keys, index + 1, count - index);
+		System.arraycopy(words, index, words, index + 1, count - index);
+		keys[index] = key;
+		words[index] = word;
+		count++;
+	}
+
+	private void removeWord(int index) {
+		System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+		System.arraycopy(words, index + 1, words, index, count - index - 1);
+		count--;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if(capacity > keys.length){
+			int newCapacity = Math.max(capacity, Math.max(DEFAULT_CAPACITY, keys.length + (keys.length >> 1)));
+			keys = Arrays.copyOf(keys, newCapacity);
+			words = Arrays.copyOf(words, newCapacity);
+		}
+	}
+
+	private static void checkValue(int value) {
+		if(value < 0){
+			throw new IllegalArgumentException("Bitset values must be non-negative: " + value);
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj){
+			return true;
+		}
+		if(!(obj instanceof SparseBitSet)){
+			return false;
+		}
+		SparseBitSet other = (SparseBitSet) obj;
+		if(count != other.count || cardinality != other.cardinality){
+			return false;
+		}
+		for(int i=0; i<count; i++){
+			if(keys[i] != other.keys[i] || words[i] != other.words[i]){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 1;
+		for(int i=0; i<count; i++){
+			long word = words[i];
+			hash = 31 * (31 * hash + keys[i]) + (int) (word ^ (word >>> 32));
+		}
+		return hash;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder("[");
+		PrimitiveIterator.OfInt iterator = iterator();
+		while(iterator.hasNext()){
+			result.append(iterator.nextInt());
+			if(iterator.hasNext()){
+				result.append(", ");
+			}
+		}
+		return result.append("]").toString();
+	}
+
+}